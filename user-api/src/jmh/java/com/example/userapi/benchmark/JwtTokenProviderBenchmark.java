@@ -0,0 +1,70 @@
+package com.example.userapi.benchmark;
+
+import com.example.userapi.config.JwtProperties;
+import com.example.userapi.enums.UserStatus;
+import com.example.userapi.security.CustomUserDetails;
+import com.example.userapi.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider cachedProvider;
+    private JwtTokenProvider uncachedProvider;
+    private Authentication authentication;
+    private String cachedToken;
+    private String uncachedToken;
+
+    @Setup
+    public void setUp() {
+        cachedProvider = new JwtTokenProvider(properties(10000));
+        // 快取大小為 0：每次 validateToken 都做完整的簽章驗證
+        uncachedProvider = new JwtTokenProvider(properties(0));
+
+        CustomUserDetails principal = new CustomUserDetails(42L, "alice", "{noop}secret",
+                UserStatus.ENABLED, List.of("USER", "ADMIN"), 3);
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        cachedToken = cachedProvider.generateToken(authentication);
+        uncachedToken = uncachedProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return uncachedProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateTokenCached() {
+        return cachedProvider.validateToken(cachedToken);
+    }
+
+    @Benchmark
+    public boolean validateTokenUncached() {
+        return uncachedProvider.validateToken(uncachedToken);
+    }
+
+    private static JwtProperties properties(long verifiedCacheMaxSize) {
+        JwtProperties properties = new JwtProperties();
+        properties.setVerifiedCacheMaxSize(verifiedCacheMaxSize);
+        return properties;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.userapi.benchmark;
+
+import com.example.userapi.enums.UserStatus;
+import com.example.userapi.security.CustomUserDetails;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserDetailsBenchmark {
+
+    private CustomUserDetails userDetails;
+
+    @Setup
+    public void setUp() {
+        userDetails = new CustomUserDetails(42L, "alice", "{noop}secret", UserStatus.ENABLED,
+                List.of("USER", "ADMIN", "AUDITOR"), 1);
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return userDetails.getAuthorities();
+    }
+
+    @Benchmark
+    public CustomUserDetails construct() {
+        return new CustomUserDetails(42L, "alice", "{noop}secret", UserStatus.ENABLED,
+                List.of("USER", "ADMIN", "AUDITOR"), 1);
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.userapi.benchmark;
+
+import com.example.userapi.dto.response.RoleResponse;
+import com.example.userapi.dto.response.UserResponse;
+import com.example.userapi.entity.Role;
+import com.example.userapi.entity.User;
+import com.example.userapi.entity.UserRole;
+import com.example.userapi.enums.UserStatus;
+import com.example.userapi.repository.projection.UserSummaryView;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserResponseBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private List<User> users;
+    private List<UserSummaryView> summaries;
+    private Set<RoleResponse> roles;
+    private Page<UserResponse> page;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        Role admin = role(1L, "ADMIN");
+        Role member = role(2L, "USER");
+        roles = Set.of(RoleResponse.from(admin), RoleResponse.from(member));
+
+        users = new ArrayList<>(pageSize);
+        summaries = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            User user = user(i);
+            Set<UserRole> userRoles = new HashSet<>();
+            userRoles.add(userRole(user, member));
+            if (i % 3 == 0) {
+                userRoles.add(userRole(user, admin));
+            }
+            user.setRoles(userRoles);
+            users.add(user);
+            summaries.add(summary(user));
+        }
+
+        page = new PageImpl<>(users.stream().map(UserResponse::from).toList(), PageRequest.of(0, pageSize), 10_000);
+        // 與 Spring Boot 預設的 ObjectMapper 設定一致：Instant 以 ISO-8601 字串輸出
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Benchmark
+    public List<UserResponse> fromEntity() {
+        return users.stream().map(UserResponse::from).toList();
+    }
+
+    @Benchmark
+    public List<UserResponse> fromProjection() {
+        return summaries.stream().map(summary -> UserResponse.from(summary, roles)).toList();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    private static Role role(Long id, String name) {
+        Role role = new Role();
+        role.setId(id);
+        role.setName(name);
+        role.setDescription(name + " role");
+        return role;
+    }
+
+    private static UserRole userRole(User user, Role role) {
+        UserRole userRole = new UserRole();
+        userRole.setUser(user);
+        userRole.setRole(role);
+        return userRole;
+    }
+
+    private static User user(int i) {
+        Instant now = Instant.now();
+        User user = new User();
+        user.setId((long) i);
+        user.setUsername("user" + i);
+        user.setEmail("user" + i + "@example.com");
+        user.setFirstName("First" + i);
+        user.setLastName("Last" + i);
+        user.setPhone("0912345678");
+        user.setStatus(UserStatus.ENABLED);
+        user.setLastLoginAt(now);
+        user.setLastLoginIp("10.0.0." + (i % 255));
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
+        return user;
+    }
+
+    private static UserSummaryView summary(User user) {
+        return new UserSummaryView() {
+            @Override
+            public Long getId() {
+                return user.getId();
+            }
+
+            @Override
+            public String getUsername() {
+                return user.getUsername();
+            }
+
+            @Override
+            public String getEmail() {
+                return user.getEmail();
+            }
+
+            @Override
+            public String getFirstName() {
+                return user.getFirstName();
+            }
+
+            @Override
+            public String getLastName() {
+                return user.getLastName();
+            }
+
+            @Override
+            public String getPhone() {
+                return user.getPhone();
+            }
+
+            @Override
+            public UserStatus getStatus() {
+                return user.getStatus();
+            }
+
+            @Override
+            public Instant getLastLoginAt() {
+                return user.getLastLoginAt();
+            }
+
+            @Override
+            public String getLastLoginIp() {
+                return user.getLastLoginIp();
+            }
+
+            @Override
+            public Instant getCreatedAt() {
+                return user.getCreatedAt();
+            }
+
+            @Override
+            public Instant getUpdatedAt() {
+                return user.getUpdatedAt();
+            }
+        };
+    }
+}
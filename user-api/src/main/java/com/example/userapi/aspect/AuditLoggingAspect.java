@@ -6,7 +6,6 @@ import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
-import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
@@ -31,12 +30,16 @@ public class AuditLoggingAspect {
 
         String detail = null;
         if (!auditable.detail().isEmpty()) {
-            EvaluationContext context = new StandardEvaluationContext();
-            ((StandardEvaluationContext) context).setVariable("args", joinPoint.getArgs());
-            ((StandardEvaluationContext) context).setVariable("result", result);
-            detail = parser.parseExpression(auditable.detail()).getValue(context, String.class);
+            detail = evaluateDetail(auditable.detail(), joinPoint.getArgs(), result);
         }
 
         auditLogService.log(user, auditable.eventType(), detail);
     }
+
+    public String evaluateDetail(String expression, Object[] args, Object result) {
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        context.setVariable("args", args);
+        context.setVariable("result", result);
+        return parser.parseExpression(expression).getValue(context, String.class);
+    }
 }
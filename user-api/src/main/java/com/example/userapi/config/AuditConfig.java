@@ -0,0 +1,22 @@
+package com.example.userapi.config;
+
+import com.example.userapi.enums.AuditWriteMode;
+import com.example.userapi.service.audit.AsyncBatchingAuditSink;
+import com.example.userapi.service.audit.AuditSink;
+import com.example.userapi.service.audit.JdbcAuditWriter;
+import com.example.userapi.service.audit.SynchronousAuditSink;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AuditConfig {
+
+    @Bean
+    public AuditSink auditSink(AuditProperties properties, JdbcAuditWriter writer, MeterRegistry meterRegistry) {
+        if (properties.getMode() == AuditWriteMode.ASYNC) {
+            return new AsyncBatchingAuditSink(writer, properties, meterRegistry);
+        }
+        return new SynchronousAuditSink(writer);
+    }
+}
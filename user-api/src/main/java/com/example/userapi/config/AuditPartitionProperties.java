@@ -0,0 +1,67 @@
+package com.example.userapi.config;
+
+import com.example.userapi.enums.AuditRetentionMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "audit.partitioning")
+public class AuditPartitionProperties {
+
+    private boolean enabled = false;
+    private int premakeMonths = 3;
+    // 0 表示不套用保留政策
+    private int retentionMonths = 0;
+    private AuditRetentionMode retentionMode = AuditRetentionMode.DETACH;
+    private String maintenanceCron = "0 15 3 * * *";
+    // 啟用分區時，分頁查詢未指定 from 的預設回溯月數；0 表示不設下限
+    private int queryLookbackMonths = 12;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getPremakeMonths() {
+        return premakeMonths;
+    }
+
+    public void setPremakeMonths(int premakeMonths) {
+        this.premakeMonths = premakeMonths;
+    }
+
+    public int getRetentionMonths() {
+        return retentionMonths;
+    }
+
+    public void setRetentionMonths(int retentionMonths) {
+        this.retentionMonths = retentionMonths;
+    }
+
+    public AuditRetentionMode getRetentionMode() {
+        return retentionMode;
+    }
+
+    public void setRetentionMode(AuditRetentionMode retentionMode) {
+        this.retentionMode = retentionMode;
+    }
+
+    public String getMaintenanceCron() {
+        return maintenanceCron;
+    }
+
+    public void setMaintenanceCron(String maintenanceCron) {
+        this.maintenanceCron = maintenanceCron;
+    }
+
+    public int getQueryLookbackMonths() {
+        return queryLookbackMonths;
+    }
+
+    public void setQueryLookbackMonths(int queryLookbackMonths) {
+        this.queryLookbackMonths = queryLookbackMonths;
+    }
+}
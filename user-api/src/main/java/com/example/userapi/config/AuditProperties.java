@@ -0,0 +1,66 @@
+package com.example.userapi.config;
+
+import com.example.userapi.enums.AuditOverflowPolicy;
+import com.example.userapi.enums.AuditWriteMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "audit.writer")
+public class AuditProperties {
+
+    private AuditWriteMode mode = AuditWriteMode.SYNC;
+    private int queueCapacity = 10000;
+    private int batchSize = 200;
+    private long flushIntervalMs = 200;
+    private AuditOverflowPolicy overflowPolicy = AuditOverflowPolicy.CALLER_RUNS;
+    private long shutdownTimeoutMs = 10000;
+
+    public AuditWriteMode getMode() {
+        return mode;
+    }
+
+    public void setMode(AuditWriteMode mode) {
+        this.mode = mode;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getFlushIntervalMs() {
+        return flushIntervalMs;
+    }
+
+    public void setFlushIntervalMs(long flushIntervalMs) {
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    public AuditOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(AuditOverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public long getShutdownTimeoutMs() {
+        return shutdownTimeoutMs;
+    }
+
+    public void setShutdownTimeoutMs(long shutdownTimeoutMs) {
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+    }
+}
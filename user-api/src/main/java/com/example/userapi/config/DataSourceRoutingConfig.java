@@ -0,0 +1,86 @@
+package com.example.userapi.config;
+
+import com.example.userapi.datasource.ReadYourWritesFilter;
+import com.example.userapi.datasource.ReplicaHealthMonitor;
+import com.example.userapi.datasource.ReplicaNode;
+import com.example.userapi.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// datasource.replicas.enabled=true 時取代 Boot 自動設定的單一 DataSource：
+// primary 仍由 spring.datasource.* 設定，唯讀交易依 ReplicaRoutingDataSource 導向 replica。
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replicas", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                                             ReplicaProperties properties,
+                                                             DataSourceProperties primary,
+                                                             MeterRegistry meterRegistry) {
+        List<ReplicaNode> nodes = new ArrayList<>();
+        int index = 0;
+        for (ReplicaProperties.Node node : properties.getNodes()) {
+            String name = node.getName() != null ? node.getName() : "replica-" + index;
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(name);
+            dataSource.setJdbcUrl(node.getUrl());
+            dataSource.setUsername(node.getUsername() != null ? node.getUsername() : primary.getUsername());
+            dataSource.setPassword(node.getPassword() != null ? node.getPassword() : primary.getPassword());
+            dataSource.setMaximumPoolSize(node.getMaximumPoolSize());
+            dataSource.setConnectionTimeout(node.getConnectionTimeoutMs());
+            dataSource.setReadOnly(true);
+            // 啟動時 replica 無法連線不應阻擋應用程式啟動，交由健康檢查處理
+            dataSource.setInitializationFailTimeout(-1);
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            nodes.add(new ReplicaNode(name, dataSource));
+            index++;
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, nodes, properties.getBalancing());
+    }
+
+    // 交易開始時 readOnly 旗標尚未設定，延後到第一個陳述式才決定實際連線
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(ReplicaRoutingDataSource replicaRoutingDataSource,
+                                                     ReplicaProperties properties) {
+        return new ReplicaHealthMonitor(replicaRoutingDataSource.getReplicas(), properties.getMaxLagMs());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReplicaProperties properties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(properties.getReadYourWritesMs()));
+        // 在 Spring Security 之後執行，才能取得目前使用者
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 10);
+        return registration;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.userapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+@Component
+@ConfigurationProperties(prefix = "http-cache")
+public class HttpCacheProperties {
+
+    // GET /api/v1/users/{id}：含個人資料，預設僅允許瀏覽器快取
+    private Policy user = new Policy(0, true);
+    // GET /api/v1/roles
+    private Policy roles = new Policy(0, false);
+    // GET /api/v1/roles/{id}
+    private Policy role = new Policy(0, false);
+
+    public Policy getUser() {
+        return user;
+    }
+
+    public void setUser(Policy user) {
+        this.user = user;
+    }
+
+    public Policy getRoles() {
+        return roles;
+    }
+
+    public void setRoles(Policy roles) {
+        this.roles = roles;
+    }
+
+    public Policy getRole() {
+        return role;
+    }
+
+    public void setRole(Policy role) {
+        this.role = role;
+    }
+
+    public static class Policy {
+
+        private long maxAgeSeconds; // 0：每次都以 If-None-Match 重新驗證
+        private boolean cachePrivate;
+
+        public Policy() {
+        }
+
+        public Policy(long maxAgeSeconds, boolean cachePrivate) {
+            this.maxAgeSeconds = maxAgeSeconds;
+            this.cachePrivate = cachePrivate;
+        }
+
+        public CacheControl toCacheControl() {
+            CacheControl cacheControl = maxAgeSeconds > 0
+                    ? CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS)
+                    : CacheControl.noCache();
+            return cachePrivate ? cacheControl.cachePrivate() : cacheControl.cachePublic();
+        }
+
+        public long getMaxAgeSeconds() {
+            return maxAgeSeconds;
+        }
+
+        public void setMaxAgeSeconds(long maxAgeSeconds) {
+            this.maxAgeSeconds = maxAgeSeconds;
+        }
+
+        public boolean isCachePrivate() {
+            return cachePrivate;
+        }
+
+        public void setCachePrivate(boolean cachePrivate) {
+            this.cachePrivate = cachePrivate;
+        }
+    }
+}
@@ -9,6 +9,9 @@ public class JwtProperties {
 
     private String secret = "default-secret-key-please-change-in-production-environment-must-be-at-least-256-bits";
     private long expirationMs = 86400000; // 24 hours
+    private boolean stateless = false;
+    private long verifiedCacheMaxSize = 10000;
+    private long verifiedCacheTtlMs = 300000; // 5 minutes
 
     public String getSecret() {
         return secret;
@@ -25,4 +28,28 @@ public class JwtProperties {
     public void setExpirationMs(long expirationMs) {
         this.expirationMs = expirationMs;
     }
+
+    public boolean isStateless() {
+        return stateless;
+    }
+
+    public void setStateless(boolean stateless) {
+        this.stateless = stateless;
+    }
+
+    public long getVerifiedCacheMaxSize() {
+        return verifiedCacheMaxSize;
+    }
+
+    public void setVerifiedCacheMaxSize(long verifiedCacheMaxSize) {
+        this.verifiedCacheMaxSize = verifiedCacheMaxSize;
+    }
+
+    public long getVerifiedCacheTtlMs() {
+        return verifiedCacheTtlMs;
+    }
+
+    public void setVerifiedCacheTtlMs(long verifiedCacheTtlMs) {
+        this.verifiedCacheTtlMs = verifiedCacheTtlMs;
+    }
 }
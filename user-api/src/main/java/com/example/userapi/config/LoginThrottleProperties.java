@@ -0,0 +1,102 @@
+package com.example.userapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "security.login-throttle")
+public class LoginThrottleProperties {
+
+    private boolean enabled = true;
+    private long windowMs = 900000;
+    private int maxFailuresPerUsername = 5;
+    private int maxFailuresPerIp = 50;
+    private long baseBackoffMs = 1000;
+    private long maxBackoffMs = 900000;
+    // 同一帳號連續被封鎖達此次數、且距第一次封鎖至少 lockMinSpreadMs 後轉為 LOCKED；0 表示不自動鎖定。
+    // 預設值下約需 30 分鐘、60 次以上的連續失敗，短時間的猜測只會被暫時封鎖
+    private int lockAfterBlocks = 10;
+    private long lockMinSpreadMs = 1800000;
+    private int stripes = 64;
+    private int maxKeysPerStripe = 4096;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getWindowMs() {
+        return windowMs;
+    }
+
+    public void setWindowMs(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    public int getMaxFailuresPerUsername() {
+        return maxFailuresPerUsername;
+    }
+
+    public void setMaxFailuresPerUsername(int maxFailuresPerUsername) {
+        this.maxFailuresPerUsername = maxFailuresPerUsername;
+    }
+
+    public int getMaxFailuresPerIp() {
+        return maxFailuresPerIp;
+    }
+
+    public void setMaxFailuresPerIp(int maxFailuresPerIp) {
+        this.maxFailuresPerIp = maxFailuresPerIp;
+    }
+
+    public long getBaseBackoffMs() {
+        return baseBackoffMs;
+    }
+
+    public void setBaseBackoffMs(long baseBackoffMs) {
+        this.baseBackoffMs = baseBackoffMs;
+    }
+
+    public long getMaxBackoffMs() {
+        return maxBackoffMs;
+    }
+
+    public void setMaxBackoffMs(long maxBackoffMs) {
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    public int getLockAfterBlocks() {
+        return lockAfterBlocks;
+    }
+
+    public void setLockAfterBlocks(int lockAfterBlocks) {
+        this.lockAfterBlocks = lockAfterBlocks;
+    }
+
+    public long getLockMinSpreadMs() {
+        return lockMinSpreadMs;
+    }
+
+    public void setLockMinSpreadMs(long lockMinSpreadMs) {
+        this.lockMinSpreadMs = lockMinSpreadMs;
+    }
+
+    public int getStripes() {
+        return stripes;
+    }
+
+    public void setStripes(int stripes) {
+        this.stripes = stripes;
+    }
+
+    public int getMaxKeysPerStripe() {
+        return maxKeysPerStripe;
+    }
+
+    public void setMaxKeysPerStripe(int maxKeysPerStripe) {
+        this.maxKeysPerStripe = maxKeysPerStripe;
+    }
+}
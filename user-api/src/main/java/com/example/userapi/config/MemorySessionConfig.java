@@ -0,0 +1,48 @@
+package com.example.userapi.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.session.SessionProperties;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.MapSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// session.store=jdbc 時不載入，改由 Spring Boot 自動設定 JdbcIndexedSessionRepository
+@Configuration
+@EnableSpringHttpSession
+@ConditionalOnProperty(prefix = "session", name = "store", havingValue = "memory", matchIfMissing = true)
+public class MemorySessionConfig {
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofMinutes(30);
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    @Bean
+    public MapSessionRepository sessionRepository(SessionProperties sessionProperties,
+                                                  ServerProperties serverProperties,
+                                                  MeterRegistry meterRegistry) {
+        MapSessionRepository repository = new MapSessionRepository(sessions);
+        Duration timeout = sessionProperties.determineTimeout(
+                () -> serverProperties.getServlet().getSession().getTimeout());
+        repository.setDefaultMaxInactiveInterval(timeout != null ? timeout : DEFAULT_TIMEOUT);
+        Gauge.builder("sessions.store.size", sessions, Map::size)
+                .description("Sessions held by the in-memory session repository")
+                .register(meterRegistry);
+        return repository;
+    }
+
+    // MapSessionRepository 只在讀取時檢查過期，未再造訪的 session 需定期清除
+    @Scheduled(fixedDelayString = "${session.purge-interval-ms:60000}")
+    public void purgeExpiredSessions() {
+        sessions.values().removeIf(Session::isExpired);
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.userapi.config;
 
+import com.example.userapi.security.BoundedPasswordEncoder;
 import com.example.userapi.security.JwtAuthenticationFilter;
 import com.example.userapi.security.OAuth2LoginSuccessHandler;
 import com.example.userapi.security.OAuth2UserService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -10,7 +12,6 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -41,6 +42,8 @@ public class SecurityConfig {
                         // Auth & registration endpoints
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         .requestMatchers(org.springframework.http.HttpMethod.POST, "/api/v1/users").permitAll()
+                        // 註冊表單的即時可用性檢查
+                        .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/v1/users/availability").permitAll()
                         // OAuth2 flow
                         .requestMatchers("/login", "/oauth2/**", "/login/oauth2/**").permitAll()
                         // Swagger UI
@@ -48,6 +51,8 @@ public class SecurityConfig {
                                 "/v3/api-docs/**", "/v3/api-docs").permitAll()
                         // Thymeleaf pages
                         .requestMatchers("/dashboard", "/logout").permitAll()
+                        // Health checks & Prometheus scraping（建議以網路層限制存取）
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                         // Static resources
                         .requestMatchers("/css/**", "/js/**", "/images/**", "/error").permitAll()
                         // All other requests require authentication
@@ -70,7 +75,7 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(properties, meterRegistry);
     }
 }
@@ -0,0 +1,30 @@
+package com.example.userapi.config;
+
+import com.example.userapi.enums.SessionStoreType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "session")
+public class SessionStoreProperties {
+
+    // MEMORY：單節點；JDBC：由 Spring Session 存入 spring_session 資料表，多節點共用
+    private SessionStoreType store = SessionStoreType.MEMORY;
+    private long purgeIntervalMs = 60000; // MEMORY 模式清除閒置過期 session 的間隔
+
+    public SessionStoreType getStore() {
+        return store;
+    }
+
+    public void setStore(SessionStoreType store) {
+        this.store = store;
+    }
+
+    public long getPurgeIntervalMs() {
+        return purgeIntervalMs;
+    }
+
+    public void setPurgeIntervalMs(long purgeIntervalMs) {
+        this.purgeIntervalMs = purgeIntervalMs;
+    }
+}
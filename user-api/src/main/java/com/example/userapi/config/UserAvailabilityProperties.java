@@ -0,0 +1,66 @@
+package com.example.userapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "user.availability")
+public class UserAvailabilityProperties {
+
+    private boolean bloomFilterEnabled = true;
+    private double falsePositiveRate = 0.01;
+    // filter 容量 = max(目前使用者數 * growth-factor, min-expected-insertions)，超過容量後誤判率上升，由定期重建調整
+    private double growthFactor = 2.0;
+    private long minExpectedInsertions = 100_000;
+    private int fetchSize = 5000;
+    // 重建以回收容量並同步其他節點新增的使用者
+    private String rebuildCron = "0 30 4 * * *";
+
+    public boolean isBloomFilterEnabled() {
+        return bloomFilterEnabled;
+    }
+
+    public void setBloomFilterEnabled(boolean bloomFilterEnabled) {
+        this.bloomFilterEnabled = bloomFilterEnabled;
+    }
+
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public void setFalsePositiveRate(double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public double getGrowthFactor() {
+        return growthFactor;
+    }
+
+    public void setGrowthFactor(double growthFactor) {
+        this.growthFactor = growthFactor;
+    }
+
+    public long getMinExpectedInsertions() {
+        return minExpectedInsertions;
+    }
+
+    public void setMinExpectedInsertions(long minExpectedInsertions) {
+        this.minExpectedInsertions = minExpectedInsertions;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public String getRebuildCron() {
+        return rebuildCron;
+    }
+
+    public void setRebuildCron(String rebuildCron) {
+        this.rebuildCron = rebuildCron;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.userapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "user.search")
+public class UserSearchProperties {
+
+    // 啟動時建立 pg_trgm extension 與 users 的 trigram 索引（需 PostgreSQL）
+    private boolean manageIndexes = true;
+    // pg_trgm.similarity_threshold：越低越能容忍錯字，但候選列越多
+    private double similarityThreshold = 0.3;
+    private int minQueryLength = 2;
+    private int defaultSize = 20;
+    private int maxSize = 50;
+
+    public boolean isManageIndexes() {
+        return manageIndexes;
+    }
+
+    public void setManageIndexes(boolean manageIndexes) {
+        this.manageIndexes = manageIndexes;
+    }
+
+    public double getSimilarityThreshold() {
+        return similarityThreshold;
+    }
+
+    public void setSimilarityThreshold(double similarityThreshold) {
+        this.similarityThreshold = similarityThreshold;
+    }
+
+    public int getMinQueryLength() {
+        return minQueryLength;
+    }
+
+    public void setMinQueryLength(int minQueryLength) {
+        this.minQueryLength = minQueryLength;
+    }
+
+    public int getDefaultSize() {
+        return defaultSize;
+    }
+
+    public void setDefaultSize(int defaultSize) {
+        this.defaultSize = defaultSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.userapi.controller;
+
+import com.example.userapi.enums.AuditEventType;
+import com.example.userapi.enums.AuditExportFormat;
+import com.example.userapi.service.audit.AuditExportFilter;
+import com.example.userapi.service.audit.AuditLogExporter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/v1/audit-logs")
+@Tag(name = "Audit Log", description = "Audit log export APIs")
+public class AuditLogController {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogController.class);
+
+    private final AuditLogExporter auditLogExporter;
+
+    public AuditLogController(AuditLogExporter auditLogExporter) {
+        this.auditLogExporter = auditLogExporter;
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Stream audit logs as NDJSON or CSV",
+            description = "Ordered by created_at; 'from' is inclusive and 'to' exclusive. gzip=true returns a .gz file")
+    public void export(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) AuditEventType eventType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        AuditExportFormat exportFormat = AuditExportFormat.from(format);
+        AuditExportFilter filter = new AuditExportFilter(userId, eventType, from, to);
+
+        String filename = "audit-logs." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+
+        OutputStream out = response.getOutputStream();
+        try {
+            if (gzip) {
+                try (GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192)) {
+                    auditLogExporter.export(filter, exportFormat, gzipOut);
+                }
+            } else {
+                auditLogExporter.export(filter, exportFormat, out);
+            }
+        } catch (UncheckedIOException | IOException e) {
+            // 客戶端中斷下載（包含關閉 GZIPOutputStream 時寫出結尾失敗）；回應已送出部分內容，無法再改寫狀態碼
+            log.debug("Audit log export aborted: {}", e.getMessage());
+        }
+    }
+}
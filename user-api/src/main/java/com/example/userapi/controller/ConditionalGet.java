@@ -0,0 +1,59 @@
+package com.example.userapi.controller;
+
+import com.example.userapi.repository.projection.VersionView;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.util.function.Supplier;
+
+// 以版本查詢產生的 strong ETag 回應條件式 GET；If-None-Match 命中時直接回 304，不載入也不序列化回應本體
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    static String etag(String resource, VersionView version) {
+        return "\"" + resource + "-" + Long.toHexString(toMicros(version.getUpdatedAt()))
+                + "-" + Long.toHexString(version.getVersion()) + "\"";
+    }
+
+    static <T> ResponseEntity<T> respond(WebRequest request, String etag, CacheControl cacheControl,
+                                         Supplier<T> body) {
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(body.get());
+    }
+
+    // If-None-Match 採弱比較：忽略 W/ 前綴
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // PostgreSQL timestamp 精度為微秒
+    private static long toMicros(Instant instant) {
+        if (instant == null) {
+            return 0L;
+        }
+        return instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000;
+    }
+}
@@ -2,6 +2,7 @@ package com.example.userapi.controller;
 
 import com.example.userapi.entity.User;
 import com.example.userapi.exception.AuthenticationException;
+import com.example.userapi.security.SessionUser;
 import com.example.userapi.service.AuthService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
@@ -24,7 +25,7 @@ public class PageController {
     @GetMapping("/login")
     public String loginPage(HttpServletRequest request) {
         HttpSession session = request.getSession(false);
-        if (session != null && session.getAttribute("user") != null) {
+        if (session != null && session.getAttribute(SessionUser.ATTRIBUTE) != null) {
             return "redirect:/dashboard";
         }
         return "login";
@@ -38,7 +39,8 @@ public class PageController {
         try {
             User user = authService.login(username, password, request.getRemoteAddr());
             HttpSession session = request.getSession();
-            session.setAttribute("user", user);
+            // 只存精簡 principal，避免整個 User 實體與 EAGER 角色關聯常駐 session
+            session.setAttribute(SessionUser.ATTRIBUTE, SessionUser.from(user));
             return "redirect:/dashboard";
         } catch (AuthenticationException e) {
             redirectAttributes.addFlashAttribute("error", e.getMessage());
@@ -48,7 +50,7 @@ public class PageController {
 
     @GetMapping("/dashboard")
     public String dashboard(HttpSession session, Model model) {
-        User user = (User) session.getAttribute("user");
+        SessionUser user = (SessionUser) session.getAttribute(SessionUser.ATTRIBUTE);
         if (user == null) {
             return "redirect:/login";
         }
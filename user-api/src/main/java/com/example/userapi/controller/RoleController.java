@@ -1,12 +1,16 @@
 package com.example.userapi.controller;
 
+import com.example.userapi.config.HttpCacheProperties;
 import com.example.userapi.dto.request.CreateRoleRequest;
+import com.example.userapi.dto.response.RoleMemberResponse;
 import com.example.userapi.dto.response.RoleResponse;
 import com.example.userapi.entity.Role;
 import com.example.userapi.service.RoleService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,6 +20,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -25,9 +30,11 @@ import java.util.List;
 public class RoleController {
 
     private final RoleService roleService;
+    private final HttpCacheProperties httpCacheProperties;
 
-    public RoleController(RoleService roleService) {
+    public RoleController(RoleService roleService, HttpCacheProperties httpCacheProperties) {
         this.roleService = roleService;
+        this.httpCacheProperties = httpCacheProperties;
     }
 
     @PostMapping
@@ -38,19 +45,26 @@ public class RoleController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all roles")
-    public ResponseEntity<List<RoleResponse>> getAllRoles() {
-        List<RoleResponse> roles = roleService.getAllRoles().stream()
-                .map(RoleResponse::from)
-                .toList();
-        return ResponseEntity.ok(roles);
+    @Operation(summary = "Get all roles", description = "Supports If-None-Match; returns 304 when unchanged")
+    public ResponseEntity<List<RoleResponse>> getAllRoles(WebRequest request) {
+        String etag = ConditionalGet.etag("roles", roleService.getRolesVersion());
+        return ConditionalGet.respond(request, etag, httpCacheProperties.getRoles().toCacheControl(),
+                roleService::getAllRoles);
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get a role by ID")
-    public ResponseEntity<RoleResponse> getRoleById(@PathVariable Long id) {
-        Role role = roleService.getRoleById(id);
-        return ResponseEntity.ok(RoleResponse.from(role));
+    @Operation(summary = "Get a role by ID", description = "Supports If-None-Match; returns 304 when unchanged")
+    public ResponseEntity<RoleResponse> getRoleById(@PathVariable Long id, WebRequest request) {
+        String etag = ConditionalGet.etag("role-" + id, roleService.getRoleVersion(id));
+        return ConditionalGet.respond(request, etag, httpCacheProperties.getRole().toCacheControl(),
+                () -> roleService.getRoleById(id));
+    }
+
+    @GetMapping("/{id}/users")
+    @Operation(summary = "Get users assigned to a role (paginated)",
+            description = "Ordered by user ID; served from user_roles without loading role or user entities")
+    public ResponseEntity<Page<RoleMemberResponse>> getRoleMembers(@PathVariable Long id, Pageable pageable) {
+        return ResponseEntity.ok(roleService.getRoleMembers(id, pageable));
     }
 
     @DeleteMapping("/{id}")
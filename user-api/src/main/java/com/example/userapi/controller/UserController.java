@@ -1,29 +1,56 @@
 package com.example.userapi.controller;
 
+import com.example.userapi.config.HttpCacheProperties;
+import com.example.userapi.dto.request.BatchUserLookupRequest;
 import com.example.userapi.dto.request.CreateUserRequest;
 import com.example.userapi.dto.request.UpdateUserRequest;
+import com.example.userapi.dto.request.UserMergePatch;
 import com.example.userapi.dto.response.AuditLogResponse;
+import com.example.userapi.dto.response.AvailabilityResponse;
+import com.example.userapi.dto.response.BatchUserLookupResponse;
+import com.example.userapi.dto.response.CursorPageResponse;
+import com.example.userapi.dto.response.UserImportResponse;
 import com.example.userapi.dto.response.UserResponse;
 import com.example.userapi.entity.AuditLog;
 import com.example.userapi.entity.User;
+import com.example.userapi.exception.InvalidRequestException;
+import com.example.userapi.exception.ResourceNotFoundException;
 import com.example.userapi.service.AuditLogService;
+import com.example.userapi.service.UserImportService;
+import com.example.userapi.service.UserQueryService;
 import com.example.userapi.service.UserService;
+import com.example.userapi.service.availability.UserAvailabilityService;
+import com.example.userapi.service.changefeed.UserChangeFeed;
+import com.example.userapi.service.search.UserSearchService;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.time.Instant;
 import java.util.Set;
 
 @RestController
@@ -32,11 +59,27 @@ import java.util.Set;
 public class UserController {
 
     private final UserService userService;
+    private final UserQueryService userQueryService;
     private final AuditLogService auditLogService;
+    private final UserImportService userImportService;
+    private final UserSearchService userSearchService;
+    private final UserAvailabilityService userAvailabilityService;
+    // user.change-feed.enabled=false 時不存在
+    private final ObjectProvider<UserChangeFeed> userChangeFeed;
+    private final HttpCacheProperties httpCacheProperties;
 
-    public UserController(UserService userService, AuditLogService auditLogService) {
+    public UserController(UserService userService, UserQueryService userQueryService,
+                          AuditLogService auditLogService, UserImportService userImportService,
+                          UserSearchService userSearchService, UserAvailabilityService userAvailabilityService,
+                          ObjectProvider<UserChangeFeed> userChangeFeed, HttpCacheProperties httpCacheProperties) {
         this.userService = userService;
+        this.userQueryService = userQueryService;
         this.auditLogService = auditLogService;
+        this.userImportService = userImportService;
+        this.userSearchService = userSearchService;
+        this.userAvailabilityService = userAvailabilityService;
+        this.userChangeFeed = userChangeFeed;
+        this.httpCacheProperties = httpCacheProperties;
     }
 
     @PostMapping
@@ -46,18 +89,79 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(UserResponse.from(user));
     }
 
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv"})
+    @Operation(summary = "Bulk import users from a JSON array or CSV body",
+            description = "Returns a per-row result report; rows are inserted in JDBC batches")
+    public ResponseEntity<UserImportResponse> importUsers(HttpServletRequest request) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        return ResponseEntity.ok(userImportService.importUsers(request.getInputStream(), contentType));
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Look up multiple users by id and/or username",
+            description = "Up to " + BatchUserLookupRequest.MAX_KEYS + " ids and " + BatchUserLookupRequest.MAX_KEYS
+                    + " usernames; results are keyed by input and marked FOUND, NOT_FOUND or DISABLED")
+    public ResponseEntity<BatchUserLookupResponse> lookupUsers(@Valid @RequestBody BatchUserLookupRequest request) {
+        return ResponseEntity.ok(userQueryService.lookupUsers(request.getIds(), request.getUsernames()));
+    }
+
     @GetMapping
     @Operation(summary = "Get all users (paginated)")
     public ResponseEntity<Page<UserResponse>> getAllUsers(Pageable pageable) {
-        Page<UserResponse> users = userService.getAllUsers(pageable).map(UserResponse::from);
-        return ResponseEntity.ok(users);
+        return ResponseEntity.ok(userQueryService.getAllUsers(pageable));
+    }
+
+    @GetMapping(params = "after")
+    @Operation(summary = "Get users by cursor (keyset pagination)",
+            description = "Pass an empty 'after' for the first page, then the returned nextCursor; no total count")
+    public ResponseEntity<CursorPageResponse<UserResponse>> getUsersAfter(
+            @RequestParam String after, @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(userQueryService.getUsersAfter(after, size));
+    }
+
+    @GetMapping("/availability")
+    @Operation(summary = "Check whether a username and/or email is still available",
+            description = "Answered from an in-memory Bloom filter; only possible matches query the database")
+    public ResponseEntity<AvailabilityResponse> checkAvailability(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email) {
+        if (username == null && email == null) {
+            throw new InvalidRequestException("username or email is required");
+        }
+        return ResponseEntity.ok(new AvailabilityResponse(
+                username == null ? null : userAvailabilityService.isUsernameAvailable(username),
+                email == null ? null : userAvailabilityService.isEmailAvailable(email)));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search users by prefix or fuzzy match",
+            description = "Matches username, email, first/last name and phone; results ranked by relevance, no total count")
+    public ResponseEntity<Slice<UserResponse>> searchUsers(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(userSearchService.search(q, page, size));
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream user changes as Server-Sent Events",
+            description = "Resume with the Last-Event-ID header (or 'after'); missed events are replayed from the change log")
+    public SseEmitter streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(required = false) Long after) {
+        UserChangeFeed feed = userChangeFeed.getIfAvailable();
+        if (feed == null) {
+            throw new ResourceNotFoundException("Change feed", "user.change-feed.enabled", false);
+        }
+        return feed.subscribe(lastEventId != null ? lastEventId : after);
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get a user by ID")
-    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
-        User user = userService.getUserById(id);
-        return ResponseEntity.ok(UserResponse.from(user));
+    @Operation(summary = "Get a user by ID", description = "Supports If-None-Match; returns 304 when unchanged")
+    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id, WebRequest request) {
+        String etag = ConditionalGet.etag("user-" + id, userQueryService.getUserVersion(id));
+        return ConditionalGet.respond(request, etag, httpCacheProperties.getUser().toCacheControl(),
+                () -> userQueryService.getUserById(id));
     }
 
     @PutMapping("/{id}")
@@ -69,6 +173,16 @@ public class UserController {
         return ResponseEntity.ok(UserResponse.from(user));
     }
 
+    @PatchMapping(value = "/{id}", consumes = "application/merge-patch+json")
+    @Operation(summary = "Partially update a user with a JSON Merge Patch",
+            description = "Only fields present in the body are changed; null removes an optional field")
+    public ResponseEntity<UserResponse> patchUser(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch) {
+        User user = userService.patchUser(id, UserMergePatch.parse(patch));
+        return ResponseEntity.ok(UserResponse.from(user));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a user")
     public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
@@ -81,17 +195,30 @@ public class UserController {
     public ResponseEntity<UserResponse> assignRoles(
             @PathVariable Long id,
             @RequestBody Set<Long> roleIds) {
-        User user = userService.assignRoles(id, roleIds);
-        return ResponseEntity.ok(UserResponse.from(user));
+        userService.assignRoles(id, roleIds);
+        return ResponseEntity.ok(userQueryService.getUserByIdAnyStatus(id));
     }
 
     @GetMapping("/{id}/audit-logs")
-    @Operation(summary = "Get audit logs for a user (paginated)")
+    @Operation(summary = "Get audit logs for a user (paginated)",
+            description = "Only logs created at or after 'from'. Without 'from' all logs are returned, unless " +
+                    "audit.partitioning.enabled=true, in which case only the last " +
+                    "audit.partitioning.query-lookback-months months (default 12) are returned")
     public ResponseEntity<Page<AuditLogResponse>> getAuditLogs(
-            @PathVariable Long id, Pageable pageable) {
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            Pageable pageable) {
         Page<AuditLogResponse> logs = auditLogService
-                .getAuditLogsByUserId(id, pageable)
+                .getAuditLogsByUserId(id, from, pageable)
                 .map(AuditLogResponse::from);
         return ResponseEntity.ok(logs);
     }
+
+    @GetMapping(value = "/{id}/audit-logs", params = "after")
+    @Operation(summary = "Get audit logs for a user by cursor (keyset pagination)",
+            description = "Newest first; pass an empty 'after' for the first page, then the returned nextCursor")
+    public ResponseEntity<CursorPageResponse<AuditLogResponse>> getAuditLogsAfter(
+            @PathVariable Long id, @RequestParam String after, @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(auditLogService.getAuditLogsByUserIdBefore(id, after, size));
+    }
 }
@@ -0,0 +1,30 @@
+package com.example.userapi.datasource;
+
+// 請求範圍的 primary 黏著旗標，由 ReadYourWritesFilter 開啟與清除：
+// 同一請求內一旦寫入過，或使用者仍在 read-your-writes window 內，後續唯讀交易都讀取 primary。
+// 請求範圍之外（排程、背景執行緒）不記錄，避免旗標殘留在共用執行緒上。
+public final class ReadYourWritesContext {
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private ReadYourWritesContext() {
+    }
+
+    public static boolean isPrimaryRequired() {
+        return Boolean.TRUE.equals(FORCE_PRIMARY.get());
+    }
+
+    static void begin(boolean primaryRequired) {
+        FORCE_PRIMARY.set(primaryRequired);
+    }
+
+    static void markWritten() {
+        if (FORCE_PRIMARY.get() != null) {
+            FORCE_PRIMARY.set(Boolean.TRUE);
+        }
+    }
+
+    static void clear() {
+        FORCE_PRIMARY.remove();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.userapi.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+// 同一請求內寫入後的讀取一律走 primary；另外在 read-your-writes-ms > 0 時，已認證使用者成功送出寫入請求後，
+// window 內該使用者的後續請求也讀取 primary。紀錄只存在本節點記憶體中，多節點部署時需搭配 sticky session。
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final boolean windowEnabled;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(long windowMs) {
+        this.windowEnabled = windowMs > 0;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(Math.max(windowMs, 1)))
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String user = windowEnabled ? currentUser() : null;
+        ReadYourWritesContext.begin(user != null && recentWriters.getIfPresent(user) != null);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWritesContext.clear();
+        }
+        if (user != null && MUTATING_METHODS.contains(request.getMethod()) && response.getStatus() < 400) {
+            recentWriters.put(user, Boolean.TRUE);
+        }
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
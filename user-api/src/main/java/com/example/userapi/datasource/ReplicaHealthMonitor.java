@@ -0,0 +1,66 @@
+package com.example.userapi.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+// 定期量測每個 replica 的複寫延遲；連線失敗或延遲超過門檻時暫停導流，恢復後自動加回
+public class ReplicaHealthMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaHealthMonitor.class);
+
+    // 已接收的 WAL 全部重放完畢時視為沒有延遲（primary 閒置時 replay timestamp 會持續變舊）
+    private static final String LAG_SQL =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private static final int QUERY_TIMEOUT_SECONDS = 2;
+
+    private final List<ReplicaNode> replicas;
+    private final long maxLagMs;
+
+    public ReplicaHealthMonitor(List<ReplicaNode> replicas, long maxLagMs) {
+        this.replicas = replicas;
+        this.maxLagMs = maxLagMs;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${datasource.replicas.health-check-interval-ms:5000}")
+    public void check() {
+        for (ReplicaNode replica : replicas) {
+            boolean wasHealthy = replica.isHealthy();
+            try {
+                long lagMs = measureLag(replica);
+                boolean healthy = lagMs <= maxLagMs;
+                replica.update(healthy, lagMs);
+                if (wasHealthy && !healthy) {
+                    log.warn("Replica {} lag {} ms exceeds {} ms; routing reads to primary", replica.getName(), lagMs, maxLagMs);
+                } else if (!wasHealthy && healthy) {
+                    log.info("Replica {} is available (lag {} ms)", replica.getName(), lagMs);
+                }
+            } catch (SQLException e) {
+                replica.update(false, -1);
+                if (wasHealthy) {
+                    log.warn("Replica {} health check failed; routing reads to primary: {}", replica.getName(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private long measureLag(ReplicaNode replica) throws SQLException {
+        try (Connection connection = replica.getDataSource().getConnection();
+             PreparedStatement statement = connection.prepareStatement(LAG_SQL)) {
+            statement.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return Math.round(rs.getDouble(1));
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.userapi.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+public class ReplicaNode {
+
+    private final String name;
+    private final HikariDataSource dataSource;
+    // 第一次健康檢查完成前不接受流量
+    private volatile boolean healthy = false;
+    private volatile long lagMs = -1;
+
+    public ReplicaNode(String name, HikariDataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public HikariDataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public long getLagMs() {
+        return lagMs;
+    }
+
+    void update(boolean healthy, long lagMs) {
+        this.healthy = healthy;
+        this.lagMs = lagMs;
+    }
+
+    int activeConnections() {
+        return dataSource.getHikariPoolMXBean() == null ? 0 : dataSource.getHikariPoolMXBean().getActiveConnections();
+    }
+}
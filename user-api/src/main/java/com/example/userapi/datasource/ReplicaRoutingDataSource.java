@@ -0,0 +1,93 @@
+package com.example.userapi.datasource;
+
+import com.example.userapi.enums.ReplicaBalancing;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 唯讀交易導向健康且延遲在門檻內的 replica，其餘（寫入、非交易、read-your-writes、沒有可用 replica）一律走 primary。
+// 需包在 LazyConnectionDataSourceProxy 內：實際取得連線時交易的 readOnly 旗標才已設定。
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private final List<ReplicaNode> replicas;
+    private final ReplicaBalancing balancing;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<ReplicaNode> replicas,
+                                    ReplicaBalancing balancing) {
+        this.replicas = replicas;
+        this.balancing = balancing;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (ReplicaNode replica : replicas) {
+            targets.put(replica.getName(), replica.getDataSource());
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    public List<ReplicaNode> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            ReadYourWritesContext.markWritten();
+            return PRIMARY;
+        }
+        if (ReadYourWritesContext.isPrimaryRequired()) {
+            return PRIMARY;
+        }
+        ReplicaNode replica = balancing == ReplicaBalancing.LEAST_CONNECTIONS ? leastConnections() : roundRobin();
+        return replica == null ? PRIMARY : replica.getName();
+    }
+
+    private ReplicaNode roundRobin() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            ReplicaNode candidate = replicas.get((start + i) % size);
+            if (candidate.isHealthy()) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private ReplicaNode leastConnections() {
+        ReplicaNode best = null;
+        int bestActive = Integer.MAX_VALUE;
+        for (ReplicaNode candidate : replicas) {
+            if (!candidate.isHealthy()) {
+                continue;
+            }
+            int active = candidate.activeConnections();
+            if (active < bestActive) {
+                best = candidate;
+                bestActive = active;
+            }
+        }
+        return best;
+    }
+
+    // primary 由 Spring 管理生命週期，replica 連線池由這裡關閉
+    @Override
+    public void destroy() {
+        for (ReplicaNode replica : replicas) {
+            replica.getDataSource().close();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.userapi.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchUserLookupRequest {
+
+    public static final int MAX_KEYS = 100;
+
+    @Size(max = MAX_KEYS, message = "At most " + MAX_KEYS + " ids per request")
+    private List<@NotNull Long> ids = new ArrayList<>();
+
+    @Size(max = MAX_KEYS, message = "At most " + MAX_KEYS + " usernames per request")
+    private List<@NotNull String> usernames = new ArrayList<>();
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public List<String> getUsernames() {
+        return usernames;
+    }
+
+    public void setUsernames(List<String> usernames) {
+        this.usernames = usernames;
+    }
+}
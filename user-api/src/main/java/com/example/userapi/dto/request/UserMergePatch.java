@@ -0,0 +1,76 @@
+package com.example.userapi.dto.request;
+
+import com.example.userapi.exception.InvalidRequestException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.HashSet;
+import java.util.Set;
+
+// RFC 7396 JSON Merge Patch：未出現的欄位不變，值為 null 的欄位清除。
+// 欄位值沿用 UpdateUserRequest 的驗證規則，另外記錄哪些欄位出現在 patch 中。
+public class UserMergePatch {
+
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("email", "firstName", "lastName", "phone", "enabled");
+
+    private final UpdateUserRequest values = new UpdateUserRequest();
+    private final Set<String> present = new HashSet<>();
+
+    private UserMergePatch() {
+    }
+
+    public static UserMergePatch parse(JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new InvalidRequestException("Merge patch must be a JSON object");
+        }
+        UserMergePatch result = new UserMergePatch();
+        patch.fieldNames().forEachRemaining(field -> {
+            if (!PATCHABLE_FIELDS.contains(field)) {
+                throw new InvalidRequestException("Field cannot be patched: " + field);
+            }
+            result.present.add(field);
+        });
+
+        if (patch.has("email")) {
+            JsonNode email = patch.get("email");
+            if (!email.isTextual() || email.textValue().isBlank()) {
+                throw new InvalidRequestException("email cannot be removed and must be a string");
+            }
+            result.values.setEmail(email.textValue());
+        }
+        result.values.setFirstName(nullableText(patch, "firstName"));
+        result.values.setLastName(nullableText(patch, "lastName"));
+        result.values.setPhone(nullableText(patch, "phone"));
+        if (patch.has("enabled")) {
+            JsonNode enabled = patch.get("enabled");
+            if (!enabled.isBoolean()) {
+                throw new InvalidRequestException("enabled cannot be removed and must be a boolean");
+            }
+            result.values.setEnabled(enabled.booleanValue());
+        }
+        return result;
+    }
+
+    private static String nullableText(JsonNode patch, String field) {
+        JsonNode value = patch.get(field);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        if (!value.isTextual()) {
+            throw new InvalidRequestException(field + " must be a string or null");
+        }
+        return value.textValue();
+    }
+
+    public boolean has(String field) {
+        return present.contains(field);
+    }
+
+    public boolean isEmpty() {
+        return present.isEmpty();
+    }
+
+    // 供 Bean Validation 檢查欄位格式
+    public UpdateUserRequest getValues() {
+        return values;
+    }
+}
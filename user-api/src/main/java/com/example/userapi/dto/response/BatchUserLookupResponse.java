@@ -0,0 +1,31 @@
+package com.example.userapi.dto.response;
+
+import java.util.Map;
+
+// 結果以請求中的 id / username 為 key，順序與請求相同（重複的 key 只出現一次）
+public class BatchUserLookupResponse {
+
+    private Map<Long, UserLookupResult> ids;
+    private Map<String, UserLookupResult> usernames;
+
+    public BatchUserLookupResponse(Map<Long, UserLookupResult> ids, Map<String, UserLookupResult> usernames) {
+        this.ids = ids;
+        this.usernames = usernames;
+    }
+
+    public Map<Long, UserLookupResult> getIds() {
+        return ids;
+    }
+
+    public void setIds(Map<Long, UserLookupResult> ids) {
+        this.ids = ids;
+    }
+
+    public Map<String, UserLookupResult> getUsernames() {
+        return usernames;
+    }
+
+    public void setUsernames(Map<String, UserLookupResult> usernames) {
+        this.usernames = usernames;
+    }
+}
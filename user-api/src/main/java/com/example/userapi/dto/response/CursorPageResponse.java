@@ -0,0 +1,57 @@
+package com.example.userapi.dto.response;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class CursorPageResponse<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    // rows 需多查一筆 (size + 1) 以判斷是否還有下一頁
+    public static <R, T> CursorPageResponse<T> of(List<R> rows, int size,
+                                                  Function<R, T> mapper, Function<R, String> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<R> page = hasNext ? rows.subList(0, size) : rows;
+        CursorPageResponse<T> response = new CursorPageResponse<>();
+        response.setContent(page.stream().map(mapper).toList());
+        response.setSize(size);
+        response.setHasNext(hasNext);
+        response.setNextCursor(hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null);
+        return response;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.userapi.dto.response;
+
+import com.example.userapi.enums.UserStatus;
+import com.example.userapi.repository.projection.RoleMemberView;
+
+public class RoleMemberResponse {
+
+    private Long id;
+    private String username;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private UserStatus status;
+
+    public static RoleMemberResponse from(RoleMemberView member) {
+        RoleMemberResponse response = new RoleMemberResponse();
+        response.setId(member.getId());
+        response.setUsername(member.getUsername());
+        response.setEmail(member.getEmail());
+        response.setFirstName(member.getFirstName());
+        response.setLastName(member.getLastName());
+        response.setStatus(member.getStatus());
+        return response;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public UserStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(UserStatus status) {
+        this.status = status;
+    }
+}
@@ -1,12 +1,23 @@
 package com.example.userapi.dto.response;
 
 import com.example.userapi.entity.Role;
+import com.example.userapi.repository.projection.UserRoleView;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 public class RoleResponse {
 
     private Long id;
     private String name;
     private String description;
+    // 只有角色查詢端點會填入；嵌在 UserResponse 中時省略
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long memberCount;
+
+    public static RoleResponse from(Role role, long memberCount) {
+        RoleResponse response = from(role);
+        response.setMemberCount(memberCount);
+        return response;
+    }
 
     public static RoleResponse from(Role role) {
         RoleResponse response = new RoleResponse();
@@ -16,6 +27,14 @@ public class RoleResponse {
         return response;
     }
 
+    public static RoleResponse from(UserRoleView role) {
+        RoleResponse response = new RoleResponse();
+        response.setId(role.getId());
+        response.setName(role.getName());
+        response.setDescription(role.getDescription());
+        return response;
+    }
+
     public Long getId() {
         return id;
     }
@@ -39,4 +58,12 @@ public class RoleResponse {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    public Long getMemberCount() {
+        return memberCount;
+    }
+
+    public void setMemberCount(Long memberCount) {
+        this.memberCount = memberCount;
+    }
 }
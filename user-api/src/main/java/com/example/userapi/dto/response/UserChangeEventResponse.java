@@ -0,0 +1,44 @@
+package com.example.userapi.dto.response;
+
+import com.example.userapi.enums.UserChangeType;
+
+import java.time.Instant;
+
+// 變更 feed 的一筆事件；只帶識別資訊，消費端以 POST /api/v1/users/batch 取回最新資料
+public class UserChangeEventResponse {
+
+    private final long sequence;
+    private final Long userId;
+    private final String username;
+    private final UserChangeType changeType;
+    private final Instant occurredAt;
+
+    public UserChangeEventResponse(long sequence, Long userId, String username,
+                                   UserChangeType changeType, Instant occurredAt) {
+        this.sequence = sequence;
+        this.userId = userId;
+        this.username = username;
+        this.changeType = changeType;
+        this.occurredAt = occurredAt;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public UserChangeType getChangeType() {
+        return changeType;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+}
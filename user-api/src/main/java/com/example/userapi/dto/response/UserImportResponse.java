@@ -0,0 +1,67 @@
+package com.example.userapi.dto.response;
+
+import com.example.userapi.enums.ImportRowStatus;
+
+import java.util.List;
+
+public class UserImportResponse {
+
+    private int total;
+    private int created;
+    private int failed;
+    private boolean truncated;
+    private List<UserImportRowResult> results;
+
+    public static UserImportResponse from(List<UserImportRowResult> results, boolean truncated) {
+        UserImportResponse response = new UserImportResponse();
+        int created = (int) results.stream()
+                .filter(result -> result.getStatus() == ImportRowStatus.CREATED)
+                .count();
+        response.setTotal(results.size());
+        response.setCreated(created);
+        response.setFailed(results.size() - created);
+        response.setTruncated(truncated);
+        response.setResults(results);
+        return response;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public List<UserImportRowResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<UserImportRowResult> results) {
+        this.results = results;
+    }
+}
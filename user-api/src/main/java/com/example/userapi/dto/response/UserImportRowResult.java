@@ -0,0 +1,60 @@
+package com.example.userapi.dto.response;
+
+import com.example.userapi.enums.ImportRowStatus;
+
+public class UserImportRowResult {
+
+    private int row;
+    private String username;
+    private ImportRowStatus status;
+    private Long userId;
+    private String message;
+
+    public UserImportRowResult(int row, String username, ImportRowStatus status, Long userId, String message) {
+        this.row = row;
+        this.username = username;
+        this.status = status;
+        this.userId = userId;
+        this.message = message;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public void setRow(int row) {
+        this.row = row;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public ImportRowStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ImportRowStatus status) {
+        this.status = status;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.userapi.dto.response;
+
+import com.example.userapi.enums.UserLookupStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+public class UserLookupResult {
+
+    private static final UserLookupResult NOT_FOUND = new UserLookupResult(UserLookupStatus.NOT_FOUND, null);
+    private static final UserLookupResult DISABLED = new UserLookupResult(UserLookupStatus.DISABLED, null);
+
+    private final UserLookupStatus status;
+    // 只有 FOUND 時才有值；停用的使用者與 GET /users/{id} 一致，不回傳內容
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final UserResponse user;
+
+    private UserLookupResult(UserLookupStatus status, UserResponse user) {
+        this.status = status;
+        this.user = user;
+    }
+
+    public static UserLookupResult found(UserResponse user) {
+        return new UserLookupResult(UserLookupStatus.FOUND, user);
+    }
+
+    public static UserLookupResult notFound() {
+        return NOT_FOUND;
+    }
+
+    public static UserLookupResult disabled() {
+        return DISABLED;
+    }
+
+    public UserLookupStatus getStatus() {
+        return status;
+    }
+
+    public UserResponse getUser() {
+        return user;
+    }
+}
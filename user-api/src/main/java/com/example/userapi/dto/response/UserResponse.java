@@ -2,6 +2,7 @@ package com.example.userapi.dto.response;
 
 import com.example.userapi.entity.User;
 import com.example.userapi.enums.UserStatus;
+import com.example.userapi.repository.projection.UserSummaryView;
 
 import java.time.Instant;
 import java.util.Set;
@@ -43,6 +44,23 @@ public class UserResponse {
         return response;
     }
 
+    public static UserResponse from(UserSummaryView user, Set<RoleResponse> roles) {
+        UserResponse response = new UserResponse();
+        response.setId(user.getId());
+        response.setUsername(user.getUsername());
+        response.setEmail(user.getEmail());
+        response.setFirstName(user.getFirstName());
+        response.setLastName(user.getLastName());
+        response.setPhone(user.getPhone());
+        response.setStatus(user.getStatus());
+        response.setLastLoginAt(user.getLastLoginAt());
+        response.setLastLoginIp(user.getLastLoginIp());
+        response.setRoles(roles);
+        response.setCreatedAt(user.getCreatedAt());
+        response.setUpdatedAt(user.getUpdatedAt());
+        return response;
+    }
+
     public Long getId() {
         return id;
     }
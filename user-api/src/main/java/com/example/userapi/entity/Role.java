@@ -2,9 +2,6 @@ package com.example.userapi.entity;
 
 import jakarta.persistence.*;
 
-import java.util.HashSet;
-import java.util.Set;
-
 @Entity
 @Table(name = "roles")
 public class Role extends BaseEntity {
@@ -15,9 +12,6 @@ public class Role extends BaseEntity {
     @Column(name = "description", length = 255)
     private String description;
 
-    @OneToMany(mappedBy = "role", fetch = FetchType.EAGER, cascade = CascadeType.REMOVE)
-    private Set<UserRole> userRoles = new HashSet<>();
-
     public String getName() {
         return name;
     }
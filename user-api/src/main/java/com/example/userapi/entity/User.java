@@ -3,6 +3,7 @@ package com.example.userapi.entity;
 import com.example.userapi.enums.AuthProvider;
 import com.example.userapi.enums.UserStatus;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.Instant;
 import java.util.HashSet;
@@ -11,7 +12,9 @@ import java.util.Set;
 
 import static com.example.userapi.enums.UserStatus.*;
 
+// UPDATE 只包含變動的欄位，部分更新不會改寫其他欄位
 @Entity
+@DynamicUpdate
 @Table(name = "users")
 public class User extends BaseEntity {
 
@@ -50,7 +53,11 @@ public class User extends BaseEntity {
     @Column(name = "provider_id", length = 255)
     private String providerId;
 
-    // TODO 未來將有優化空間 用 @EntityGraph 或 JOIN FETCH
+    // 狀態或角色變更時遞增，使已簽發的 stateless JWT 失效
+    @Column(name = "credential_version", nullable = false, columnDefinition = "bigint default 0 not null")
+    private long credentialVersion;
+
+    // 列表與單筆查詢走 UserQueryService 的 projection，不經過此 EAGER 關聯
     @OneToMany(mappedBy = "user", fetch = FetchType.EAGER, cascade = CascadeType.REMOVE)
     Set<UserRole> userRoles = new HashSet<>();
 
@@ -114,8 +121,9 @@ public class User extends BaseEntity {
         return status == UserStatus.ENABLED;
     }
 
+    // LOCKED 可由管理者直接設回 ENABLED（解鎖）或 DISABLED；PENDING 須先完成啟用流程
     public boolean setEnabled(boolean enabled) {
-        if (this.status == LOCKED || this.status == PENDING) return false;
+        if (this.status == PENDING) return false;
         this.status = enabled ? ENABLED : DISABLED;
         return true;
     }
@@ -163,4 +171,16 @@ public class User extends BaseEntity {
     public void setProviderId(String providerId) {
         this.providerId = providerId;
     }
+
+    public long getCredentialVersion() {
+        return credentialVersion;
+    }
+
+    public void setCredentialVersion(long credentialVersion) {
+        this.credentialVersion = credentialVersion;
+    }
+
+    public void incrementCredentialVersion() {
+        this.credentialVersion++;
+    }
 }
@@ -0,0 +1,79 @@
+package com.example.userapi.entity;
+
+import com.example.userapi.enums.UserChangeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+// 使用者異動紀錄（outbox）：與異動在同一交易內寫入，寫入交易結束後由 UserChangeSequencer 配置 feed 序號。
+// 由 UserChangeLog 以 JDBC 寫入、UserChangeFeed 讀取；此 entity 只負責定義資料表
+@Entity
+@Table(name = "user_change_events", indexes = {
+        @Index(name = "uk_user_change_events_sequence", columnList = "sequence", unique = true),
+        @Index(name = "idx_user_change_events_created_at", columnList = "created_at")
+})
+public class UserChangeEvent {
+
+    // INSERT 時配置，順序與 commit 順序無關，不對外公開
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 不設外鍵：寫入不需檢查 users，保留期間內的紀錄也不受使用者資料影響
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "username", nullable = false, length = 50)
+    private String username;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 20)
+    private UserChangeType changeType;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    // 寫入交易的 id（pg_current_xact_id），用來判斷寫入交易是否已結束
+    @Column(name = "txid", nullable = false, updatable = false)
+    private Long txid;
+
+    // feed 序號（SSE 的 event id），寫入交易結束前為 null；索引同時服務 IS NULL 查詢
+    @Column(name = "sequence")
+    private Long sequence;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public UserChangeType getChangeType() {
+        return changeType;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getTxid() {
+        return txid;
+    }
+
+    public Long getSequence() {
+        return sequence;
+    }
+}
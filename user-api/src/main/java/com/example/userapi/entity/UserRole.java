@@ -3,7 +3,10 @@ package com.example.userapi.entity;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "user_roles")
+// 成員查詢與計數走 (role_id, user_id)，使用者的角色查詢走唯一約束的 (user_id, role_id)
+@Table(name = "user_roles",
+        uniqueConstraints = @UniqueConstraint(name = "uk_user_roles_user_id_role_id", columnNames = {"user_id", "role_id"}),
+        indexes = @Index(name = "idx_user_roles_role_id", columnList = "role_id, user_id"))
 public class UserRole {
 
     @Id
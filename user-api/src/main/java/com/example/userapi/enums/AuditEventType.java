@@ -9,5 +9,6 @@ public enum AuditEventType {
     ACCOUNT_CREATED,
     ACCOUNT_UPDATED,
     ACCOUNT_DISABLED,
-    ACCOUNT_ENABLED
+    ACCOUNT_ENABLED,
+    ACCOUNT_LOCKED
 }
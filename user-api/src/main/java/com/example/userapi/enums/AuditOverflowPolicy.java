@@ -0,0 +1,7 @@
+package com.example.userapi.enums;
+
+public enum AuditOverflowPolicy {
+    BLOCK,
+    DROP_OLDEST,
+    CALLER_RUNS
+}
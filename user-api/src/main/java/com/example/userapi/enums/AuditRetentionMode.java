@@ -0,0 +1,6 @@
+package com.example.userapi.enums;
+
+public enum AuditRetentionMode {
+    DETACH,
+    DROP
+}
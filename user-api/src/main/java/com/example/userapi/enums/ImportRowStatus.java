@@ -0,0 +1,9 @@
+package com.example.userapi.enums;
+
+public enum ImportRowStatus {
+    CREATED,
+    INVALID,
+    DUPLICATE_IN_REQUEST,
+    ALREADY_EXISTS,
+    FAILED
+}
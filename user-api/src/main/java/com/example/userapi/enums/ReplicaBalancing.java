@@ -0,0 +1,6 @@
+package com.example.userapi.enums;
+
+public enum ReplicaBalancing {
+    ROUND_ROBIN,
+    LEAST_CONNECTIONS
+}
@@ -0,0 +1,9 @@
+package com.example.userapi.enums;
+
+public enum UserChangeType {
+    CREATED,
+    UPDATED,
+    DISABLED,
+    LOCKED,
+    ROLES_CHANGED
+}
@@ -0,0 +1,7 @@
+package com.example.userapi.enums;
+
+public enum UserLookupStatus {
+    FOUND,
+    NOT_FOUND,
+    DISABLED
+}
@@ -0,0 +1,23 @@
+package com.example.userapi.event;
+
+// username 為 null 表示影響範圍無法確定（例如刪除角色），需清除所有快取的 principal
+public class UserCredentialsChangedEvent {
+
+    private final String username;
+
+    public UserCredentialsChangedEvent(String username) {
+        this.username = username;
+    }
+
+    public static UserCredentialsChangedEvent allUsers() {
+        return new UserCredentialsChangedEvent(null);
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public boolean isAllUsers() {
+        return username == null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.userapi.event;
+
+import java.util.Collection;
+import java.util.List;
+
+// 新增使用者或變更 email 時發佈，讓 UserAvailabilityService 在交易提交前就把新的值加入 Bloom filter
+public class UserIdentifiersAddedEvent {
+
+    private final Collection<String> usernames;
+    private final Collection<String> emails;
+
+    public UserIdentifiersAddedEvent(Collection<String> usernames, Collection<String> emails) {
+        this.usernames = usernames;
+        this.emails = emails;
+    }
+
+    public static UserIdentifiersAddedEvent created(String username, String email) {
+        return new UserIdentifiersAddedEvent(List.of(username), List.of(email));
+    }
+
+    public static UserIdentifiersAddedEvent emailChanged(String email) {
+        return new UserIdentifiersAddedEvent(List.of(), List.of(email));
+    }
+
+    public Collection<String> getUsernames() {
+        return usernames;
+    }
+
+    public Collection<String> getEmails() {
+        return emails;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.userapi.exception;
+
+// 請求內容不合法（格式錯誤的匯入內容、游標、查詢參數等），回傳 400
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
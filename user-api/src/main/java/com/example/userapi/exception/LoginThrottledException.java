@@ -0,0 +1,15 @@
+package com.example.userapi.exception;
+
+public class LoginThrottledException extends AuthenticationException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(long retryAfterSeconds) {
+        super("登入失敗次數過多，請於 " + retryAfterSeconds + " 秒後再試");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -4,10 +4,31 @@ import com.example.userapi.entity.AuditLog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
 
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
 
-    Page<AuditLog> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
+    // created_at 下限讓分區表只掃描範圍內的分區（資料與 count 查詢皆然）
+    Page<AuditLog> findByUserIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(Long userId, Instant from,
+                                                                                 Pageable pageable);
+
+    // keyset 分頁：走 idx_audit_logs_user_id_created_at，id 僅用於同一時間點的排序
+    @Query("select a from AuditLog a where a.user.id = :userId order by a.createdAt desc, a.id desc")
+    List<AuditLog> findFirstPageByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // createdAt <= :createdAt 為索引範圍條件，其餘條件排除已回傳過的資料列
+    @Query("select a from AuditLog a where a.user.id = :userId and a.createdAt <= :createdAt " +
+            "and (a.createdAt < :createdAt or a.id < :id) order by a.createdAt desc, a.id desc")
+    List<AuditLog> findPageByUserIdBefore(@Param("userId") Long userId, @Param("createdAt") Instant createdAt,
+                                          @Param("id") Long id, Pageable pageable);
 
-    void deleteByUserId(Long userId);
+    // 單一 DELETE 陳述式；衍生的 deleteBy 會先載入每一筆實體再逐筆刪除
+    @Modifying
+    @Query("delete from AuditLog a where a.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
 }
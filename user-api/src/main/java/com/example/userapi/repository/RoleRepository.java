@@ -1,8 +1,15 @@
 package com.example.userapi.repository;
 
 import com.example.userapi.entity.Role;
+import com.example.userapi.repository.projection.VersionView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface RoleRepository extends JpaRepository<Role, Long> {
@@ -10,4 +17,19 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
     Optional<Role> findByName(String name);
 
     boolean existsByName(String name);
+
+    @Query("select r.id from Role r where r.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select r.updatedAt as updatedAt, 0L as version from Role r where r.id = :id")
+    Optional<VersionView> findVersionById(@Param("id") Long id);
+
+    // 新增會推進 max(updated_at)，刪除會改變筆數
+    @Query("select max(r.updatedAt) as updatedAt, count(r) as version from Role r")
+    VersionView findListVersion();
+
+    // 成員變動時推進 updated_at，讓角色的 ETag 與 member count 一致
+    @Modifying
+    @Query("update Role r set r.updatedAt = :now where r.id in :ids")
+    int touchByIdIn(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
 }
@@ -3,14 +3,27 @@ package com.example.userapi.repository;
 import com.example.userapi.entity.User;
 import com.example.userapi.enums.AuthProvider;
 import com.example.userapi.enums.UserStatus;
+import com.example.userapi.repository.projection.UserCredentialsView;
+import com.example.userapi.repository.projection.UserSummaryView;
+import com.example.userapi.repository.projection.VersionView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    String USER_SUMMARY_SELECT = "select u.id as id, u.username as username, u.email as email, " +
+            "u.firstName as firstName, u.lastName as lastName, u.phone as phone, u.status as status, " +
+            "u.lastLoginAt as lastLoginAt, u.lastLoginIp as lastLoginIp, " +
+            "u.createdAt as createdAt, u.updatedAt as updatedAt from User u ";
+
     Optional<User> findByUsername(String username);
 
     Optional<User> findByEmail(String email);
@@ -19,9 +32,62 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmail(String email);
 
-    Page<User> findByStatusNot(UserStatus status, Pageable pageable);
+    @Query(value = USER_SUMMARY_SELECT + "where u.status <> :status",
+            countQuery = "select count(u) from User u where u.status <> :status")
+    Page<UserSummaryView> findSummariesByStatusNot(@Param("status") UserStatus status, Pageable pageable);
+
+    // keyset 分頁：沿主鍵索引往後走，不需要 OFFSET 與 count
+    @Query(USER_SUMMARY_SELECT + "where u.status <> :status and u.id > :afterId order by u.id")
+    List<UserSummaryView> findSummariesAfter(@Param("status") UserStatus status,
+                                             @Param("afterId") Long afterId, Pageable pageable);
 
-    Optional<User> findByIdAndStatusNot(Long id, UserStatus status);
+    @Query(USER_SUMMARY_SELECT + "where u.id = :id and u.status <> :status")
+    Optional<UserSummaryView> findSummaryByIdAndStatusNot(@Param("id") Long id, @Param("status") UserStatus status);
 
     Optional<User> findByProviderAndProviderId(AuthProvider provider, String providerId);
+
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select u.id as id, u.username as username, u.password as password, " +
+            "u.status as status, u.credentialVersion as credentialVersion " +
+            "from User u where u.username = :username")
+    Optional<UserCredentialsView> findCredentialsByUsername(@Param("username") String username);
+
+    @Query("select u.username from User u where u.id = :id")
+    Optional<String> findUsernameById(@Param("id") Long id);
+
+    // 批次查詢：ids 與 usernames 合併為單一查詢，任一清單為空時不影響另一清單
+    @Query(USER_SUMMARY_SELECT + "where u.id in :ids or u.username in :usernames")
+    List<UserSummaryView> findSummariesByIdInOrUsernameIn(@Param("ids") Collection<Long> ids,
+                                                          @Param("usernames") Collection<String> usernames);
+
+    @Query(USER_SUMMARY_SELECT + "where u.id = :id")
+    Optional<UserSummaryView> findSummaryById(@Param("id") Long id);
+
+    // 角色指派、角色刪除與鎖定都會遞增 credentialVersion，即使 updated_at 未變動
+    @Query("select u.updatedAt as updatedAt, u.credentialVersion as version " +
+            "from User u where u.id = :id and u.status <> :status")
+    Optional<VersionView> findVersionByIdAndStatusNot(@Param("id") Long id, @Param("status") UserStatus status);
+
+    @Query("select u.credentialVersion from User u where u.id = :id")
+    Optional<Long> findCredentialVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Query("update User u set u.status = com.example.userapi.enums.UserStatus.LOCKED, " +
+            "u.credentialVersion = u.credentialVersion + 1 " +
+            "where u.id = :id and u.status = com.example.userapi.enums.UserStatus.ENABLED")
+    int lockIfEnabled(@Param("id") Long id);
+
+    @Modifying
+    @Query("update User u set u.credentialVersion = u.credentialVersion + 1 where u.id = :id")
+    int incrementCredentialVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Query("update User u set u.credentialVersion = u.credentialVersion + 1 " +
+            "where u.id in (select ur.user.id from UserRole ur where ur.role.id = :roleId)")
+    int incrementCredentialVersionByRoleId(@Param("roleId") Long roleId);
 }
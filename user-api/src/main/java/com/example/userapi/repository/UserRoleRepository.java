@@ -1,13 +1,54 @@
 package com.example.userapi.repository;
 
 import com.example.userapi.entity.UserRole;
+import com.example.userapi.repository.projection.RoleMemberCountView;
+import com.example.userapi.repository.projection.RoleMemberView;
+import com.example.userapi.repository.projection.UserRoleView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface UserRoleRepository extends JpaRepository<UserRole, Long> {
 
     List<UserRole> findByUserId(Long userId);
 
-    void deleteByUserId(Long userId);
+    @Modifying
+    @Query("delete from UserRole ur where ur.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from UserRole ur where ur.user.id = :userId and ur.role.id in :roleIds")
+    int deleteByUserIdAndRoleIdIn(@Param("userId") Long userId, @Param("roleIds") Collection<Long> roleIds);
+
+    @Query("select ur.role.id from UserRole ur where ur.user.id = :userId")
+    List<Long> findRoleIdsByUserId(@Param("userId") Long userId);
+
+    @Query("select r.name from UserRole ur join ur.role r where ur.user.id = :userId")
+    List<String> findRoleNamesByUserId(@Param("userId") Long userId);
+
+    @Query("select ur.user.id as userId, r.id as id, r.name as name, r.description as description " +
+            "from UserRole ur join ur.role r where ur.user.id in :userIds")
+    List<UserRoleView> findRoleViewsByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query("delete from UserRole ur where ur.role.id = :roleId")
+    int deleteByRoleId(@Param("roleId") Long roleId);
+
+    @Query("select ur.role.id as roleId, count(ur) as memberCount from UserRole ur group by ur.role.id")
+    List<RoleMemberCountView> countMembersByRole();
+
+    @Query("select count(ur) from UserRole ur where ur.role.id = :roleId")
+    long countByRoleId(@Param("roleId") Long roleId);
+
+    @Query(value = "select u.id as id, u.username as username, u.email as email, " +
+            "u.firstName as firstName, u.lastName as lastName, u.status as status " +
+            "from UserRole ur join ur.user u where ur.role.id = :roleId order by u.id",
+            countQuery = "select count(ur) from UserRole ur where ur.role.id = :roleId")
+    Page<RoleMemberView> findMembersByRoleId(@Param("roleId") Long roleId, Pageable pageable);
 }
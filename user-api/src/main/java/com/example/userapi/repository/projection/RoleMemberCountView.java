@@ -0,0 +1,8 @@
+package com.example.userapi.repository.projection;
+
+public interface RoleMemberCountView {
+
+    Long getRoleId();
+
+    long getMemberCount();
+}
@@ -0,0 +1,18 @@
+package com.example.userapi.repository.projection;
+
+import com.example.userapi.enums.UserStatus;
+
+public interface RoleMemberView {
+
+    Long getId();
+
+    String getUsername();
+
+    String getEmail();
+
+    String getFirstName();
+
+    String getLastName();
+
+    UserStatus getStatus();
+}
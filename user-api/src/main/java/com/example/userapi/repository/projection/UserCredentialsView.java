@@ -0,0 +1,16 @@
+package com.example.userapi.repository.projection;
+
+import com.example.userapi.enums.UserStatus;
+
+public interface UserCredentialsView {
+
+    Long getId();
+
+    String getUsername();
+
+    String getPassword();
+
+    UserStatus getStatus();
+
+    long getCredentialVersion();
+}
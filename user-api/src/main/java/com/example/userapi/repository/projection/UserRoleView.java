@@ -0,0 +1,12 @@
+package com.example.userapi.repository.projection;
+
+public interface UserRoleView {
+
+    Long getUserId();
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+}
@@ -0,0 +1,30 @@
+package com.example.userapi.repository.projection;
+
+import com.example.userapi.enums.UserStatus;
+
+import java.time.Instant;
+
+public interface UserSummaryView {
+
+    Long getId();
+
+    String getUsername();
+
+    String getEmail();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getPhone();
+
+    UserStatus getStatus();
+
+    Instant getLastLoginAt();
+
+    String getLastLoginIp();
+
+    Instant getCreatedAt();
+
+    Instant getUpdatedAt();
+}
@@ -0,0 +1,11 @@
+package com.example.userapi.repository.projection;
+
+import java.time.Instant;
+
+// 條件式 GET 用的輕量版本資訊：最後更新時間加上一個會隨關聯變動遞增的版本號
+public interface VersionView {
+
+    Instant getUpdatedAt();
+
+    long getVersion();
+}
@@ -1,27 +1,33 @@
 package com.example.userapi.security;
 
-import com.example.userapi.entity.User;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 
+import java.io.Serial;
+import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
-public class CustomOAuth2User implements OAuth2User {
+// 會隨 SecurityContext 存入 session：只保留 provider attributes 與精簡的 CustomUserDetails，不引用 User 實體
+public class CustomOAuth2User implements OAuth2User, Serializable {
 
-    private final OAuth2User oAuth2User;
-    private final User user;
+    @Serial
+    private static final long serialVersionUID = 1L;
 
-    public CustomOAuth2User(OAuth2User oAuth2User, User user) {
-        this.oAuth2User = oAuth2User;
-        this.user = user;
+    private final Map<String, Object> attributes;
+    private final CustomUserDetails userDetails;
+
+    public CustomOAuth2User(OAuth2User oAuth2User, CustomUserDetails userDetails) {
+        this.attributes = Collections.unmodifiableMap(new LinkedHashMap<>(oAuth2User.getAttributes()));
+        this.userDetails = userDetails;
     }
 
     @Override
     public Map<String, Object> getAttributes() {
-        return oAuth2User.getAttributes();
+        return attributes;
     }
 
     @Override
@@ -31,10 +37,10 @@ public class CustomOAuth2User implements OAuth2User {
 
     @Override
     public String getName() {
-        return user.getUsername();
+        return userDetails.getUsername();
     }
 
-    public User getUser() {
-        return user;
+    public CustomUserDetails getUserDetails() {
+        return userDetails;
     }
 }
@@ -1,44 +1,68 @@
 package com.example.userapi.security;
 
-import com.example.userapi.entity.User;
+import com.example.userapi.enums.UserStatus;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+// 不可變的精簡 principal，只保留認證所需欄位，可安全地放入 PrincipalCache 共用
 public class CustomUserDetails implements UserDetails {
 
-    private final User user;
+    private final Long userId;
+    private final String username;
+    private final String password;
+    private final UserStatus status;
+    private final List<String> roleNames;
+    private final long credentialVersion;
+    private final Set<GrantedAuthority> authorities;
 
-    public CustomUserDetails(User user) {
-        this.user = user;
+    public CustomUserDetails(Long userId, String username, String password, UserStatus status,
+                             List<String> roleNames, long credentialVersion) {
+        this.userId = userId;
+        this.username = username;
+        this.password = password;
+        this.status = status;
+        this.roleNames = List.copyOf(roleNames);
+        this.credentialVersion = credentialVersion;
+        this.authorities = this.roleNames.stream()
+                .map(roleName -> new SimpleGrantedAuthority("ROLE_" + roleName))
+                .collect(Collectors.toUnmodifiableSet());
     }
 
     public Long getUserId() {
-        return user.getId();
+        return userId;
     }
 
-    public User getUser() {
-        return user;
+    public UserStatus getStatus() {
+        return status;
+    }
+
+    public List<String> getRoleNames() {
+        return roleNames;
+    }
+
+    public long getCredentialVersion() {
+        return credentialVersion;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return user.getRoles().stream()
-                .map(userRole -> new SimpleGrantedAuthority("ROLE_" + userRole.getRole().getName()))
-                .collect(Collectors.toSet());
+        return authorities;
     }
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return user.getUsername();
+        return username;
     }
 
     @Override
@@ -48,7 +72,7 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public boolean isAccountNonLocked() {
-        return !user.isLocked();
+        return status != UserStatus.LOCKED;
     }
 
     @Override
@@ -58,6 +82,6 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return user.getStatus().canLogin();
+        return status.canLogin();
     }
 }
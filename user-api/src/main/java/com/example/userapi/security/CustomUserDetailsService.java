@@ -1,27 +1,46 @@
 package com.example.userapi.security;
 
-import com.example.userapi.entity.User;
 import com.example.userapi.repository.UserRepository;
+import com.example.userapi.repository.UserRoleRepository;
+import com.example.userapi.repository.projection.UserCredentialsView;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final UserRoleRepository userRoleRepository;
+    private final PrincipalCache principalCache;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    UserRoleRepository userRoleRepository,
+                                    PrincipalCache principalCache) {
         this.userRepository = userRepository;
+        this.userRoleRepository = userRoleRepository;
+        this.principalCache = principalCache;
     }
 
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        return principalCache.get(username, this::loadPrincipal);
+    }
+
+    public boolean isCredentialVersionCurrent(Long userId, long version) {
+        return userRepository.findCredentialVersionById(userId)
+                .map(current -> current == version)
+                .orElse(false);
+    }
+
+    private CustomUserDetails loadPrincipal(String username) {
+        UserCredentialsView user = userRepository.findCredentialsByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
-        return new CustomUserDetails(user);
+        List<String> roleNames = userRoleRepository.findRoleNamesByUserId(user.getId());
+        return new CustomUserDetails(user.getId(), user.getUsername(), user.getPassword(),
+                user.getStatus(), roleNames, user.getCredentialVersion());
     }
 }
@@ -0,0 +1,62 @@
+package com.example.userapi.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.List;
+
+public class JwtClaims {
+
+    private final Long userId;
+    private final String username;
+    private final List<String> roles;
+    private final String status;
+    private final Long credentialVersion;
+    private final Instant expiresAt;
+
+    public JwtClaims(Long userId, String username, List<String> roles, String status,
+                     Long credentialVersion, Instant expiresAt) {
+        this.userId = userId;
+        this.username = username;
+        this.roles = roles;
+        this.status = status;
+        this.credentialVersion = credentialVersion;
+        this.expiresAt = expiresAt;
+    }
+
+    public static JwtClaims from(Claims claims) {
+        List<?> roles = claims.get(JwtTokenProvider.CLAIM_ROLES, List.class);
+        return new JwtClaims(
+                claims.get(JwtTokenProvider.CLAIM_USER_ID, Long.class),
+                claims.getSubject(),
+                roles == null ? List.of() : roles.stream().map(String::valueOf).toList(),
+                claims.get(JwtTokenProvider.CLAIM_STATUS, String.class),
+                claims.get(JwtTokenProvider.CLAIM_VERSION, Long.class),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant()
+        );
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Long getCredentialVersion() {
+        return credentialVersion;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.userapi.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+public class JwtPrincipal implements AuthenticatedPrincipal {
+
+    private final Long userId;
+    private final String username;
+
+    public JwtPrincipal(Long userId, String username) {
+        this.userId = userId;
+        this.username = username;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -1,59 +1,156 @@
 package com.example.userapi.security;
 
 import com.example.userapi.config.JwtProperties;
+import com.example.userapi.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenProvider {
 
+    public static final String CLAIM_USER_ID = "userId";
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_STATUS = "status";
+    public static final String CLAIM_VERSION = "ver";
+
     private final SecretKey key;
     private final long expirationMs;
+    private final JwtParser parser;
+    // key: token 的 SHA-256 摘要；命中時跳過簽章驗證與 JSON 解析
+    private final Cache<String, JwtClaims> verifiedTokens;
 
     public JwtTokenProvider(JwtProperties jwtProperties) {
         this.key = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
         this.expirationMs = jwtProperties.getExpirationMs();
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getVerifiedCacheMaxSize())
+                .expireAfter(new TokenExpiry(TimeUnit.MILLISECONDS.toNanos(jwtProperties.getVerifiedCacheTtlMs())))
+                .build();
     }
 
+    @Timed(value = "jwt.generate", histogram = true)
     public String generateToken(Authentication authentication) {
-        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-        return generateToken(userDetails.getUsername(), userDetails.getUserId());
+        return generateToken((CustomUserDetails) authentication.getPrincipal());
+    }
+
+    @Timed(value = "jwt.generate", histogram = true)
+    public String generateToken(CustomUserDetails userDetails) {
+        return generateToken(userDetails.getUserId(), userDetails.getUsername(), userDetails.getRoleNames(),
+                userDetails.getStatus().name(), userDetails.getCredentialVersion());
     }
 
-    public String generateToken(String username, Long userId) {
+    @Timed(value = "jwt.generate", histogram = true)
+    public String generateToken(User user) {
+        List<String> roles = user.getRoles().stream()
+                .map(userRole -> userRole.getRole().getName())
+                .toList();
+        return generateToken(user.getId(), user.getUsername(), roles,
+                user.getStatus().name(), user.getCredentialVersion());
+    }
+
+    private String generateToken(Long userId, String username, List<String> roles,
+                                 String status, long credentialVersion) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expirationMs);
 
-        return Jwts.builder()
+        String token = Jwts.builder()
                 .subject(username)
-                .claim("userId", userId)
+                .claim(CLAIM_USER_ID, userId)
+                .claim(CLAIM_ROLES, roles)
+                .claim(CLAIM_STATUS, status)
+                .claim(CLAIM_VERSION, credentialVersion)
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(key)
                 .compact();
+
+        // 剛簽發的 token 不需再驗證，直接放入快取，第一次請求即可命中
+        verifiedTokens.put(digest(token), new JwtClaims(userId, username, roles,
+                status, credentialVersion, expiryDate.toInstant()));
+        return token;
     }
 
-    public String getUsernameFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+    // 解析並驗證 token，只做一次簽章驗證；驗證失敗或已過期時回傳 empty
+    @Timed(value = "jwt.verify", histogram = true)
+    public Optional<JwtClaims> verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        String digest = digest(token);
+        JwtClaims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            if (cached.getExpiresAt() == null || cached.getExpiresAt().isAfter(Instant.now())) {
+                return Optional.of(cached);
+            }
+            verifiedTokens.invalidate(digest);
+            return Optional.empty();
+        }
+
+        try {
+            JwtClaims claims = JwtClaims.from(parser.parseSignedClaims(token).getPayload());
+            verifiedTokens.put(digest, claims);
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 
     public boolean validateToken(String token) {
+        return verify(token).isPresent();
+    }
+
+    private static String digest(String token) {
         try {
-            Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static class TokenExpiry implements Expiry<String, JwtClaims> {
+
+        private final long maxTtlNanos;
+
+        TokenExpiry(long maxTtlNanos) {
+            this.maxTtlNanos = maxTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, JwtClaims value, long currentTime) {
+            if (value.getExpiresAt() == null) {
+                return maxTtlNanos;
+            }
+            long remainingMs = value.getExpiresAt().toEpochMilli() - System.currentTimeMillis();
+            return Math.max(0, Math.min(maxTtlNanos, TimeUnit.MILLISECONDS.toNanos(remainingMs)));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtClaims value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtClaims value, long currentTime, long currentDuration) {
+            return currentDuration;
         }
     }
 }
@@ -0,0 +1,203 @@
+package com.example.userapi.security;
+
+import com.example.userapi.config.LoginThrottleProperties;
+import com.example.userapi.exception.LoginThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 以帳號與 IP 為 key 的登入失敗滑動視窗，分成多個 stripe 各自加鎖，記憶體用量有上限。
+// 視窗內失敗次數達門檻即封鎖一段時間（每次封鎖時間加倍），封鎖期間的嘗試在密碼雜湊與資料庫存取前就被拒絕。
+@Component
+public class LoginAttemptThrottle {
+
+    private final LoginThrottleProperties properties;
+    private final Stripe[] stripes;
+
+    private final Counter rejectedCounter;
+    private final Counter usernameBlockCounter;
+    private final Counter ipBlockCounter;
+
+    public LoginAttemptThrottle(LoginThrottleProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.stripes = new Stripe[properties.getStripes()];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe(properties.getMaxKeysPerStripe());
+        }
+        this.rejectedCounter = Counter.builder("login.throttle.rejected")
+                .description("Login attempts rejected before password verification").register(meterRegistry);
+        this.usernameBlockCounter = Counter.builder("login.throttle.blocks").tag("key", "username")
+                .register(meterRegistry);
+        this.ipBlockCounter = Counter.builder("login.throttle.blocks").tag("key", "ip")
+                .register(meterRegistry);
+    }
+
+    public void checkAllowed(String username, String ipAddress) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = currentTimeMillis();
+        long blockedMs = Math.max(remainingBlockMs(usernameKey(username), now), remainingBlockMs(ipKey(ipAddress), now));
+        if (blockedMs > 0) {
+            rejectedCounter.increment();
+            throw new LoginThrottledException(Math.max(1, (blockedMs + 999) / 1000));
+        }
+    }
+
+    // 回傳 true 表示此帳號剛達到自動鎖定條件（每次鎖定只回傳一次）
+    public boolean recordFailure(String username, String ipAddress) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        long now = currentTimeMillis();
+        if (recordFailure(ipKey(ipAddress), properties.getMaxFailuresPerIp(), false, now) != Outcome.ALLOWED) {
+            ipBlockCounter.increment();
+        }
+        Outcome outcome = recordFailure(usernameKey(username), properties.getMaxFailuresPerUsername(), true, now);
+        if (outcome != Outcome.ALLOWED) {
+            usernameBlockCounter.increment();
+        }
+        return outcome == Outcome.LOCK;
+    }
+
+    public void recordSuccess(String username) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        reset(username);
+    }
+
+    // 清除帳號的失敗次數、封鎖與累計封鎖次數（登入成功或管理者解鎖）
+    public void reset(String username) {
+        String key = usernameKey(username);
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            stripe.windows.remove(key);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    private long remainingBlockMs(String key, long now) {
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            Window window = stripe.windows.get(key);
+            return window == null ? 0 : window.blockedUntil - now;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private Outcome recordFailure(String key, int maxFailures, boolean lockable, long now) {
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            Window window = stripe.windows.computeIfAbsent(key, k -> new Window(maxFailures));
+            long windowStart = now - properties.getWindowMs();
+            // 上次失敗與上次封鎖結束都已超過一個視窗，封鎖次數歸零；
+            // 以封鎖結束時間判斷，封鎖時間達到視窗長度後仍持續的嘗試不會讓次數歸零
+            if (Math.max(window.lastFailureAt, window.blockedUntil) < windowStart) {
+                window.blocks = 0;
+                window.lockRequested = false;
+            }
+            window.add(now, windowStart);
+            if (window.size < maxFailures) {
+                return Outcome.ALLOWED;
+            }
+            window.blocks++;
+            if (window.blocks == 1) {
+                window.firstBlockAt = now;
+            }
+            long backoff = properties.getBaseBackoffMs() << Math.min(window.blocks - 1, 30);
+            window.blockedUntil = now + Math.min(backoff, properties.getMaxBackoffMs());
+            window.size = 0;
+            if (lockable && !window.lockRequested && properties.getLockAfterBlocks() > 0
+                    && window.blocks >= properties.getLockAfterBlocks()
+                    && now - window.firstBlockAt >= properties.getLockMinSpreadMs()) {
+                window.lockRequested = true;
+                return Outcome.LOCK;
+            }
+            return Outcome.BLOCKED;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[Math.floorMod(hash ^ (hash >>> 16), stripes.length)];
+    }
+
+    private static String usernameKey(String username) {
+        return "u:" + (username == null ? "" : username.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private static String ipKey(String ipAddress) {
+        return "ip:" + ipAddress;
+    }
+
+    private enum Outcome {
+        ALLOWED,
+        BLOCKED,
+        // 封鎖且剛達到自動鎖定條件
+        LOCK
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Window> windows;
+
+        private Stripe(int maxKeys) {
+            // access-order：超過上限時淘汰最久未使用的 key
+            this.windows = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+                    return size() > maxKeys;
+                }
+            };
+        }
+    }
+
+    // 最近 maxFailures 次失敗時間的環狀緩衝區
+    private static final class Window {
+
+        private final long[] failures;
+        private int head;
+        private int size;
+        private int blocks;
+        private long firstBlockAt;
+        private boolean lockRequested;
+        private long blockedUntil;
+        private long lastFailureAt;
+
+        private Window(int maxFailures) {
+            this.failures = new long[Math.max(1, maxFailures)];
+        }
+
+        private void add(long now, long windowStart) {
+            while (size > 0 && failures[head] < windowStart) {
+                head = (head + 1) % failures.length;
+                size--;
+            }
+            if (size == failures.length) {
+                head = (head + 1) % failures.length;
+                size--;
+            }
+            failures[(head + size) % failures.length] = now;
+            size++;
+            lastFailureAt = now;
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.example.userapi.security;
 
-import com.example.userapi.entity.User;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -27,9 +26,9 @@ public class OAuth2LoginSuccessHandler implements AuthenticationSuccessHandler {
                                         HttpServletResponse response,
                                         Authentication authentication) throws IOException {
         CustomOAuth2User oAuth2User = (CustomOAuth2User) authentication.getPrincipal();
-        User user = oAuth2User.getUser();
+        CustomUserDetails user = oAuth2User.getUserDetails();
 
-        String token = jwtTokenProvider.generateToken(user.getUsername(), user.getId());
+        String token = jwtTokenProvider.generateToken(user);
 
         response.setContentType("application/json;charset=UTF-8");
         response.getWriter().write(objectMapper.writeValueAsString(Map.of(
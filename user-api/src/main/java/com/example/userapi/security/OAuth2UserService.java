@@ -3,7 +3,9 @@ package com.example.userapi.security;
 import com.example.userapi.entity.User;
 import com.example.userapi.enums.AuthProvider;
 import com.example.userapi.enums.UserStatus;
+import com.example.userapi.event.UserIdentifiersAddedEvent;
 import com.example.userapi.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
@@ -11,6 +13,7 @@ import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -18,9 +21,11 @@ import java.util.Optional;
 public class OAuth2UserService extends DefaultOAuth2UserService {
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public OAuth2UserService(UserRepository userRepository) {
+    public OAuth2UserService(UserRepository userRepository, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -49,10 +54,15 @@ public class OAuth2UserService extends DefaultOAuth2UserService {
             user.setUsername(generateUsername(provider, providerId, email));
             user.setFirstName(name);
             user.setStatus(UserStatus.ENABLED);
+            eventPublisher.publishEvent(UserIdentifiersAddedEvent.created(user.getUsername(), user.getEmail()));
             user = userRepository.save(user);
         }
 
-        return new CustomOAuth2User(oAuth2User, user);
+        List<String> roleNames = user.getRoles().stream()
+                .map(userRole -> userRole.getRole().getName())
+                .toList();
+        return new CustomOAuth2User(oAuth2User, new CustomUserDetails(user.getId(), user.getUsername(), null,
+                user.getStatus(), roleNames, user.getCredentialVersion()));
     }
 
     private String extractProviderId(AuthProvider provider, Map<String, Object> attributes) {
@@ -81,6 +91,7 @@ public class OAuth2UserService extends DefaultOAuth2UserService {
         };
     }
 
+    // 實際寫入的 username 必須查唯一索引確認；Bloom filter 不含其他節點新增的值，只適合表單提示
     private String generateUsername(AuthProvider provider, String providerId, String email) {
         if (email != null && !userRepository.existsByUsername(email.split("@")[0])) {
             return email.split("@")[0];
@@ -0,0 +1,64 @@
+package com.example.userapi.security;
+
+import com.example.userapi.entity.User;
+import com.example.userapi.enums.UserStatus;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+
+// 放入 HttpSession 的不可變精簡 principal：只保留頁面需要的欄位，不含密碼與任何 JPA 關聯，
+// 序列化後僅數百 bytes，可存放在共用的 session store
+public final class SessionUser implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final String ATTRIBUTE = "user";
+
+    private final Long id;
+    private final String username;
+    private final String email;
+    private final UserStatus status;
+    private final Instant lastLoginAt;
+    private final String lastLoginIp;
+
+    public SessionUser(Long id, String username, String email, UserStatus status,
+                       Instant lastLoginAt, String lastLoginIp) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.status = status;
+        this.lastLoginAt = lastLoginAt;
+        this.lastLoginIp = lastLoginIp;
+    }
+
+    public static SessionUser from(User user) {
+        return new SessionUser(user.getId(), user.getUsername(), user.getEmail(), user.getStatus(),
+                user.getLastLoginAt(), user.getLastLoginIp());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public UserStatus getStatus() {
+        return status;
+    }
+
+    public Instant getLastLoginAt() {
+        return lastLoginAt;
+    }
+
+    public String getLastLoginIp() {
+        return lastLoginIp;
+    }
+}
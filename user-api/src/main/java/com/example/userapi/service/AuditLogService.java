@@ -1,34 +1,78 @@
 package com.example.userapi.service;
 
+import com.example.userapi.config.AuditPartitionProperties;
+import com.example.userapi.dto.response.AuditLogResponse;
+import com.example.userapi.dto.response.CursorPageResponse;
 import com.example.userapi.entity.AuditLog;
 import com.example.userapi.entity.User;
 import com.example.userapi.enums.AuditEventType;
 import com.example.userapi.repository.AuditLogRepository;
+import com.example.userapi.service.audit.AuditEvent;
+import com.example.userapi.service.audit.AuditSink;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
 @Service
 public class AuditLogService {
 
     private final AuditLogRepository auditLogRepository;
+    private final AuditSink auditSink;
+    private final AuditPartitionProperties partitionProperties;
 
-    public AuditLogService(AuditLogRepository auditLogRepository) {
+    public AuditLogService(AuditLogRepository auditLogRepository, AuditSink auditSink,
+                           AuditPartitionProperties partitionProperties) {
         this.auditLogRepository = auditLogRepository;
+        this.auditSink = auditSink;
+        this.partitionProperties = partitionProperties;
+    }
+
+    @Timed(value = "audit.log", histogram = true)
+    public void log(User user, AuditEventType eventType, String details) {
+        log(user.getId(), eventType, details);
+    }
+
+    @Timed(value = "audit.log", histogram = true)
+    public void log(Long userId, AuditEventType eventType, String details) {
+        auditSink.submit(new AuditEvent(userId, eventType, null, null, details));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<AuditLog> getAuditLogsByUserId(Long userId, Instant from, Pageable pageable) {
+        return auditLogRepository.findByUserIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(
+                userId, from == null ? defaultFrom() : from, pageable);
     }
 
-    @Transactional
-    public AuditLog log(User user, AuditEventType eventType, String details) {
-        AuditLog auditLog = new AuditLog();
-        auditLog.setUser(user);
-        auditLog.setEventType(eventType);
-        auditLog.setDetails(details);
-        return auditLogRepository.save(auditLog);
+    // 分區後 offset 分頁的 count 查詢會掃描每個分區，未指定 from 時只查最近 query-lookback-months 個月；
+    // 未分區時維持原本的行為，回傳全部紀錄
+    private Instant defaultFrom() {
+        int months = partitionProperties.getQueryLookbackMonths();
+        if (!partitionProperties.isEnabled() || months <= 0) {
+            return Instant.EPOCH;
+        }
+        return ZonedDateTime.now(ZoneOffset.UTC).minusMonths(months).toInstant();
     }
 
     @Transactional(readOnly = true)
-    public Page<AuditLog> getAuditLogsByUserId(Long userId, Pageable pageable) {
-        return auditLogRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+    public CursorPageResponse<AuditLogResponse> getAuditLogsByUserIdBefore(Long userId, String cursor, Integer size) {
+        int pageSize = CursorCodec.clampSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<AuditLog> logs;
+        if (CursorCodec.isFirstPage(cursor)) {
+            logs = auditLogRepository.findFirstPageByUserId(userId, limit);
+        } else {
+            CursorCodec.TimeAndId position = CursorCodec.decodeTimeAndId(cursor);
+            logs = auditLogRepository.findPageByUserIdBefore(userId, position.createdAt(), position.id(), limit);
+        }
+        return CursorPageResponse.of(logs, pageSize, AuditLogResponse::from,
+                log -> CursorCodec.encodeTimeAndId(log.getCreatedAt(), log.getId()));
     }
 }
@@ -4,6 +4,7 @@ import com.example.userapi.entity.User;
 import com.example.userapi.enums.AuditEventType;
 import com.example.userapi.exception.AuthenticationException;
 import com.example.userapi.repository.UserRepository;
+import com.example.userapi.security.LoginAttemptThrottle;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,24 +17,35 @@ public class AuthService {
     private final UserRepository userRepository;
     private final AuditLogService auditLogService;
     private final PasswordEncoder passwordEncoder;
+    private final LoginAttemptThrottle loginAttemptThrottle;
+    private final UserService userService;
 
     public AuthService(UserRepository userRepository, AuditLogService auditLogService,
-                       PasswordEncoder passwordEncoder) {
+                       PasswordEncoder passwordEncoder, LoginAttemptThrottle loginAttemptThrottle,
+                       UserService userService) {
         this.userRepository = userRepository;
         this.auditLogService = auditLogService;
         this.passwordEncoder = passwordEncoder;
+        this.loginAttemptThrottle = loginAttemptThrottle;
+        this.userService = userService;
     }
 
-    @Transactional
+    // 登入失敗會拋出例外，但 LOGIN_FAILED 審計紀錄仍須保留
+    @Transactional(noRollbackFor = AuthenticationException.class)
     public User login(String username, String password, String ipAddress) {
+        // 被封鎖的帳號或 IP 在查詢資料庫與 BCrypt 驗證之前就被拒絕
+        checkLoginAllowed(username, ipAddress);
+
         User user = userRepository.findByUsername(username).orElse(null);
 
         if (user == null) {
+            recordFailedLogin(username, ipAddress);
             throw new AuthenticationException("帳號或密碼錯誤");
         }
 
         if (!passwordEncoder.matches(password, user.getPassword())) {
             auditLogService.log(user, AuditEventType.LOGIN_FAILED, "IP: " + ipAddress);
+            recordFailedLogin(username, ipAddress);
             throw new AuthenticationException("帳號或密碼錯誤");
         }
 
@@ -46,9 +58,25 @@ public class AuthService {
         user.setLastLoginAt(Instant.now());
         user.setLastLoginIp(ipAddress);
         userRepository.save(user);
+        loginAttemptThrottle.recordSuccess(username);
 
         auditLogService.log(user, AuditEventType.LOGIN, "IP: " + ipAddress);
 
         return user;
     }
+
+    public void checkLoginAllowed(String username, String ipAddress) {
+        loginAttemptThrottle.checkAllowed(username, ipAddress);
+    }
+
+    // 失敗次數只記在記憶體；僅在達到鎖定條件時寫入一次 ACCOUNT_LOCKED
+    public void recordFailedLogin(String username, String ipAddress) {
+        if (loginAttemptThrottle.recordFailure(username, ipAddress)) {
+            userService.lockAccount(username, "Too many failed login attempts, last IP: " + ipAddress);
+        }
+    }
+
+    public void recordSuccessfulLogin(String username) {
+        loginAttemptThrottle.recordSuccess(username);
+    }
 }
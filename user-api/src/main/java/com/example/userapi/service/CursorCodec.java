@@ -0,0 +1,84 @@
+package com.example.userapi.service;
+
+import com.example.userapi.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Keyset 分頁游標：對外為不透明的 base64url 字串，內容為排序鍵 (id) 或 (createdAt, id)
+final class CursorCodec {
+
+    static final int DEFAULT_SIZE = 20;
+    static final int MAX_SIZE = 100;
+
+    private static final char SEPARATOR = '|';
+
+    private CursorCodec() {
+    }
+
+    static int clampSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    static boolean isFirstPage(String cursor) {
+        return cursor == null || cursor.isBlank();
+    }
+
+    static String encodeId(long id) {
+        return encode(Long.toString(id));
+    }
+
+    static long decodeId(String cursor) {
+        return parseId(decode(cursor), cursor);
+    }
+
+    static String encodeTimeAndId(Instant createdAt, long id) {
+        return encode(createdAt.toString() + SEPARATOR + id);
+    }
+
+    static TimeAndId decodeTimeAndId(String cursor) {
+        String raw = decode(cursor);
+        int separator = raw.lastIndexOf(SEPARATOR);
+        if (separator <= 0) {
+            throw invalid(cursor);
+        }
+        try {
+            return new TimeAndId(Instant.parse(raw.substring(0, separator)),
+                    parseId(raw.substring(separator + 1), cursor));
+        } catch (DateTimeParseException e) {
+            throw invalid(cursor);
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalid(cursor);
+        }
+    }
+
+    private static long parseId(String value, String cursor) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw invalid(cursor);
+        }
+    }
+
+    private static InvalidRequestException invalid(String cursor) {
+        return new InvalidRequestException("Invalid cursor: " + cursor);
+    }
+
+    record TimeAndId(Instant createdAt, long id) {
+    }
+}
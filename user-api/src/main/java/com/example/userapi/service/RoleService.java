@@ -1,22 +1,50 @@
 package com.example.userapi.service;
 
 import com.example.userapi.dto.request.CreateRoleRequest;
+import com.example.userapi.dto.response.RoleMemberResponse;
+import com.example.userapi.dto.response.RoleResponse;
 import com.example.userapi.entity.Role;
+import com.example.userapi.enums.UserChangeType;
+import com.example.userapi.event.UserCredentialsChangedEvent;
 import com.example.userapi.exception.DuplicateResourceException;
 import com.example.userapi.exception.ResourceNotFoundException;
 import com.example.userapi.repository.RoleRepository;
+import com.example.userapi.repository.UserRepository;
+import com.example.userapi.repository.UserRoleRepository;
+import com.example.userapi.repository.projection.RoleMemberCountView;
+import com.example.userapi.repository.projection.VersionView;
+import com.example.userapi.service.changefeed.UserChangeLog;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
+@Timed(value = "role.service", histogram = true)
 public class RoleService {
 
     private final RoleRepository roleRepository;
+    private final UserRepository userRepository;
+    private final UserRoleRepository userRoleRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserChangeLog userChangeLog;
 
-    public RoleService(RoleRepository roleRepository) {
+    public RoleService(RoleRepository roleRepository, UserRepository userRepository,
+                       UserRoleRepository userRoleRepository, ApplicationEventPublisher eventPublisher,
+                       UserChangeLog userChangeLog) {
         this.roleRepository = roleRepository;
+        this.userRepository = userRepository;
+        this.userRoleRepository = userRoleRepository;
+        this.eventPublisher = eventPublisher;
+        this.userChangeLog = userChangeLog;
     }
 
     @Transactional
@@ -30,14 +58,44 @@ public class RoleService {
         return roleRepository.save(role);
     }
 
+    // 角色與成員數各一個查詢，不載入任何 user_roles 資料列
     @Transactional(readOnly = true)
-    public List<Role> getAllRoles() {
-        return roleRepository.findAll();
+    public List<RoleResponse> getAllRoles() {
+        Map<Long, Long> memberCounts = new HashMap<>();
+        for (RoleMemberCountView count : userRoleRepository.countMembersByRole()) {
+            memberCounts.put(count.getRoleId(), count.getMemberCount());
+        }
+        return roleRepository.findAll(Sort.by("id")).stream()
+                .map(role -> RoleResponse.from(role, memberCounts.getOrDefault(role.getId(), 0L)))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public RoleResponse getRoleById(Long id) {
+        Role role = roleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Role", "id", id));
+        return RoleResponse.from(role, userRoleRepository.countByRoleId(id));
+    }
+
+    // 成員固定依 user id 排序，忽略 Pageable 的 sort
+    @Transactional(readOnly = true)
+    public Page<RoleMemberResponse> getRoleMembers(Long id, Pageable pageable) {
+        if (!roleRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Role", "id", id);
+        }
+        return userRoleRepository
+                .findMembersByRoleId(id, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()))
+                .map(RoleMemberResponse::from);
+    }
+
+    @Transactional(readOnly = true)
+    public VersionView getRolesVersion() {
+        return roleRepository.findListVersion();
     }
 
     @Transactional(readOnly = true)
-    public Role getRoleById(Long id) {
-        return roleRepository.findById(id)
+    public VersionView getRoleVersion(Long id) {
+        return roleRepository.findVersionById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Role", "id", id));
     }
 
@@ -45,6 +103,10 @@ public class RoleService {
     public void deleteRole(Long id) {
         Role role = roleRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Role", "id", id));
+        userRepository.incrementCredentialVersionByRoleId(id);
+        userChangeLog.recordRoleMembers(id, UserChangeType.ROLES_CHANGED);
+        userRoleRepository.deleteByRoleId(id);
         roleRepository.delete(role);
+        eventPublisher.publishEvent(UserCredentialsChangedEvent.allUsers());
     }
 }
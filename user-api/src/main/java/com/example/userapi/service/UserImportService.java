@@ -0,0 +1,293 @@
+package com.example.userapi.service;
+
+import com.example.userapi.config.UserImportProperties;
+import com.example.userapi.dto.request.CreateUserRequest;
+import com.example.userapi.dto.response.UserImportResponse;
+import com.example.userapi.dto.response.UserImportRowResult;
+import com.example.userapi.enums.AuditEventType;
+import com.example.userapi.enums.AuthProvider;
+import com.example.userapi.enums.ImportRowStatus;
+import com.example.userapi.enums.UserChangeType;
+import com.example.userapi.enums.UserStatus;
+import com.example.userapi.event.UserIdentifiersAddedEvent;
+import com.example.userapi.exception.ServiceUnavailableException;
+import com.example.userapi.repository.UserRepository;
+import com.example.userapi.service.audit.AuditEvent;
+import com.example.userapi.service.audit.AuditSink;
+import com.example.userapi.service.changefeed.UserChangeLog;
+import com.example.userapi.service.importer.CsvUserImportReader;
+import com.example.userapi.service.importer.JsonUserImportReader;
+import com.example.userapi.service.importer.UserImportReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+@Service
+public class UserImportService {
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    // users.id 為 IDENTITY 欄位；一次向其底層 sequence 取出整批 id，讓 INSERT 可以走 JDBC batch
+    private static final String ALLOCATE_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('users', 'id')) FROM generate_series(1, ?)";
+
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO users (id, username, email, password, first_name, last_name, phone, status, provider, " +
+            "credential_version, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    private static final int MAX_HASH_ATTEMPTS = 8;
+    private static final long INITIAL_BACKOFF_MS = 50;
+    private static final long MAX_BACKOFF_MS = 1000;
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditSink auditSink;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final UserImportProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserChangeLog userChangeLog;
+    private final ExecutorService hashingExecutor;
+
+    public UserImportService(UserRepository userRepository,
+                             PasswordEncoder passwordEncoder,
+                             JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             AuditSink auditSink,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             UserImportProperties properties,
+                             ApplicationEventPublisher eventPublisher,
+                             UserChangeLog userChangeLog) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.auditSink = auditSink;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.userChangeLog = userChangeLog;
+        this.hashingExecutor = newHashingExecutor(properties.getHashingThreads(), properties.getChunkSize());
+    }
+
+    public UserImportResponse importUsers(InputStream body, MediaType contentType) throws IOException {
+        UserImportReader reader = TEXT_CSV.isCompatibleWith(contentType)
+                ? new CsvUserImportReader(body)
+                : new JsonUserImportReader(objectMapper, body);
+
+        List<UserImportRowResult> results = new ArrayList<>();
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<ImportRow> chunk = new ArrayList<>(properties.getChunkSize());
+        boolean truncated = false;
+        int rowNumber = 0;
+
+        CreateUserRequest request;
+        while ((request = reader.next()) != null) {
+            if (rowNumber >= properties.getMaxRows()) {
+                truncated = true;
+                break;
+            }
+            rowNumber++;
+
+            Set<ConstraintViolation<CreateUserRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                results.add(new UserImportRowResult(rowNumber, request.getUsername(), ImportRowStatus.INVALID, null,
+                        violations.stream()
+                                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                                .sorted()
+                                .collect(Collectors.joining("; "))));
+                continue;
+            }
+            if (seenUsernames.contains(request.getUsername()) || seenEmails.contains(request.getEmail())) {
+                results.add(new UserImportRowResult(rowNumber, request.getUsername(),
+                        ImportRowStatus.DUPLICATE_IN_REQUEST, null, "Username or email appears earlier in this import"));
+                continue;
+            }
+            seenUsernames.add(request.getUsername());
+            seenEmails.add(request.getEmail());
+
+            chunk.add(new ImportRow(rowNumber, request));
+            if (chunk.size() >= properties.getChunkSize()) {
+                results.addAll(importChunk(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(importChunk(chunk));
+        }
+
+        results.sort((a, b) -> Integer.compare(a.getRow(), b.getRow()));
+        return UserImportResponse.from(results, truncated);
+    }
+
+    private List<UserImportRowResult> importChunk(List<ImportRow> chunk) {
+        List<UserImportRowResult> results = new ArrayList<>(chunk.size());
+
+        Set<String> existingUsernames = new HashSet<>(userRepository.findExistingUsernames(
+                chunk.stream().map(row -> row.request.getUsername()).toList()));
+        Set<String> existingEmails = new HashSet<>(userRepository.findExistingEmails(
+                chunk.stream().map(row -> row.request.getEmail()).toList()));
+
+        List<ImportRow> accepted = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (existingUsernames.contains(row.request.getUsername())) {
+                results.add(new UserImportRowResult(row.rowNumber, row.request.getUsername(),
+                        ImportRowStatus.ALREADY_EXISTS, null, "Username already exists"));
+            } else if (existingEmails.contains(row.request.getEmail())) {
+                results.add(new UserImportRowResult(row.rowNumber, row.request.getUsername(),
+                        ImportRowStatus.ALREADY_EXISTS, null, "Email already exists"));
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return results;
+        }
+
+        List<CompletableFuture<Void>> hashes = accepted.stream()
+                .map(row -> CompletableFuture.runAsync(
+                        () -> row.passwordHash = encodeWithBackoff(row.request.getPassword()), hashingExecutor))
+                .toList();
+        try {
+            CompletableFuture.allOf(hashes.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertChunk(accepted));
+            for (ImportRow row : accepted) {
+                results.add(new UserImportRowResult(row.rowNumber, row.request.getUsername(),
+                        ImportRowStatus.CREATED, row.userId, null));
+            }
+        } catch (DataIntegrityViolationException e) {
+            // 檢查與寫入之間有其他請求建立了相同帳號；整個 chunk 已 rollback
+            for (ImportRow row : accepted) {
+                results.add(new UserImportRowResult(row.rowNumber, row.request.getUsername(),
+                        ImportRowStatus.FAILED, null, "Conflicting user was created concurrently, please retry"));
+            }
+        }
+        return results;
+    }
+
+    private void insertChunk(List<ImportRow> rows) {
+        List<Long> ids = jdbcTemplate.queryForList(ALLOCATE_IDS_SQL, Long.class, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).userId = ids.get(i);
+        }
+
+        OffsetDateTime now = OffsetDateTime.ofInstant(Instant.now(), ZoneOffset.UTC);
+        jdbcTemplate.batchUpdate(INSERT_USER_SQL, rows, rows.size(), (ps, row) -> {
+            CreateUserRequest request = row.request;
+            ps.setLong(1, row.userId);
+            ps.setString(2, request.getUsername());
+            ps.setString(3, request.getEmail());
+            ps.setString(4, row.passwordHash);
+            ps.setString(5, request.getFirstName());
+            ps.setString(6, request.getLastName());
+            ps.setString(7, request.getPhone());
+            ps.setString(8, UserStatus.ENABLED.name());
+            ps.setString(9, AuthProvider.LOCAL.name());
+            ps.setObject(10, now);
+            ps.setObject(11, now);
+        });
+
+        eventPublisher.publishEvent(new UserIdentifiersAddedEvent(
+                rows.stream().map(row -> row.request.getUsername()).toList(),
+                rows.stream().map(row -> row.request.getEmail()).toList()));
+        userChangeLog.recordAll(
+                rows.stream().map(row -> row.userId).toList(),
+                rows.stream().map(row -> row.request.getUsername()).toList(),
+                UserChangeType.CREATED);
+        auditSink.submitAll(rows.stream()
+                .map(row -> new AuditEvent(row.userId, AuditEventType.ACCOUNT_CREATED, null, null, "Bulk import"))
+                .toList());
+    }
+
+    // 雜湊在共用的 BoundedPasswordEncoder 上執行；佇列滿時退避重試，讓出容量給登入請求
+    private String encodeWithBackoff(String password) {
+        long backoffMs = INITIAL_BACKOFF_MS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return passwordEncoder.encode(password);
+            } catch (ServiceUnavailableException e) {
+                if (attempt >= MAX_HASH_ATTEMPTS) {
+                    throw e;
+                }
+            }
+            try {
+                Thread.sleep(backoffMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServiceUnavailableException("Bulk import interrupted", 1);
+            }
+            backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdown();
+    }
+
+    private static ExecutorService newHashingExecutor(int threads, int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "user-import-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static class ImportRow {
+
+        private final int rowNumber;
+        private final CreateUserRequest request;
+        private volatile String passwordHash;
+        private Long userId;
+
+        ImportRow(int rowNumber, CreateUserRequest request) {
+            this.rowNumber = rowNumber;
+            this.request = request;
+        }
+    }
+}
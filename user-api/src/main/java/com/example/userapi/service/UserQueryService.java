@@ -0,0 +1,127 @@
+package com.example.userapi.service;
+
+import com.example.userapi.dto.response.BatchUserLookupResponse;
+import com.example.userapi.dto.response.CursorPageResponse;
+import com.example.userapi.dto.response.RoleResponse;
+import com.example.userapi.dto.response.UserLookupResult;
+import com.example.userapi.dto.response.UserResponse;
+import com.example.userapi.enums.UserStatus;
+import com.example.userapi.exception.ResourceNotFoundException;
+import com.example.userapi.repository.UserRepository;
+import com.example.userapi.repository.UserRoleRepository;
+import com.example.userapi.repository.projection.UserRoleView;
+import com.example.userapi.repository.projection.UserSummaryView;
+import com.example.userapi.repository.projection.VersionView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// 使用者讀取模型：以 projection 查詢 users 與角色，固定查詢次數，不載入 User 實體的 EAGER 關聯
+@Service
+public class UserQueryService {
+
+    private final UserRepository userRepository;
+    private final UserRoleRepository userRoleRepository;
+
+    public UserQueryService(UserRepository userRepository, UserRoleRepository userRoleRepository) {
+        this.userRepository = userRepository;
+        this.userRoleRepository = userRoleRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<UserResponse> getAllUsers(Pageable pageable) {
+        Page<UserSummaryView> users = userRepository.findSummariesByStatusNot(UserStatus.DISABLED, pageable);
+        Map<Long, Set<RoleResponse>> roles = findRolesByUserIds(
+                users.getContent().stream().map(UserSummaryView::getId).toList());
+        return users.map(user -> UserResponse.from(user, roles.getOrDefault(user.getId(), Set.of())));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<UserResponse> getUsersAfter(String cursor, Integer size) {
+        int pageSize = CursorCodec.clampSize(size);
+        long afterId = CursorCodec.isFirstPage(cursor) ? 0L : CursorCodec.decodeId(cursor);
+        List<UserSummaryView> users = userRepository.findSummariesAfter(
+                UserStatus.DISABLED, afterId, PageRequest.of(0, pageSize + 1));
+        Map<Long, Set<RoleResponse>> roles = findRolesByUserIds(
+                users.stream().limit(pageSize).map(UserSummaryView::getId).toList());
+        return CursorPageResponse.of(users, pageSize,
+                user -> UserResponse.from(user, roles.getOrDefault(user.getId(), Set.of())),
+                user -> CursorCodec.encodeId(user.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public UserResponse getUserById(Long id) {
+        UserSummaryView user = userRepository.findSummaryByIdAndStatusNot(id, UserStatus.DISABLED)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+        return UserResponse.from(user, findRolesByUserIds(Set.of(id)).getOrDefault(id, Set.of()));
+    }
+
+    // 不排除已停用的使用者，供寫入操作回傳最新狀態
+    @Transactional(readOnly = true)
+    public UserResponse getUserByIdAnyStatus(Long id) {
+        UserSummaryView user = userRepository.findSummaryById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+        return UserResponse.from(user, findRolesByUserIds(Set.of(id)).getOrDefault(id, Set.of()));
+    }
+
+    // 一個 IN 查詢取得使用者、一個 IN 查詢取得角色；不存在與已停用的項目分別標記
+    @Transactional(readOnly = true)
+    public BatchUserLookupResponse lookupUsers(Collection<Long> ids, Collection<String> usernames) {
+        Set<Long> idKeys = ids == null ? Set.of() : new LinkedHashSet<>(ids);
+        Set<String> usernameKeys = usernames == null ? Set.of() : new LinkedHashSet<>(usernames);
+        if (idKeys.isEmpty() && usernameKeys.isEmpty()) {
+            return new BatchUserLookupResponse(Map.of(), Map.of());
+        }
+
+        List<UserSummaryView> users = userRepository.findSummariesByIdInOrUsernameIn(idKeys, usernameKeys);
+        Map<Long, Set<RoleResponse>> roles = findRolesByUserIds(users.stream()
+                .filter(user -> user.getStatus() != UserStatus.DISABLED)
+                .map(UserSummaryView::getId)
+                .toList());
+        Map<Long, UserLookupResult> byId = new HashMap<>();
+        Map<String, UserLookupResult> byUsername = new HashMap<>();
+        for (UserSummaryView user : users) {
+            UserLookupResult result = user.getStatus() == UserStatus.DISABLED
+                    ? UserLookupResult.disabled()
+                    : UserLookupResult.found(UserResponse.from(user, roles.getOrDefault(user.getId(), Set.of())));
+            byId.put(user.getId(), result);
+            byUsername.put(user.getUsername(), result);
+        }
+
+        Map<Long, UserLookupResult> idResults = new LinkedHashMap<>();
+        idKeys.forEach(id -> idResults.put(id, byId.getOrDefault(id, UserLookupResult.notFound())));
+        Map<String, UserLookupResult> usernameResults = new LinkedHashMap<>();
+        usernameKeys.forEach(username -> usernameResults.put(username,
+                byUsername.getOrDefault(username, UserLookupResult.notFound())));
+        return new BatchUserLookupResponse(idResults, usernameResults);
+    }
+
+    // 條件式 GET：只查 updated_at 與 credential_version，不載入使用者與角色
+    @Transactional(readOnly = true)
+    public VersionView getUserVersion(Long id) {
+        return userRepository.findVersionByIdAndStatusNot(id, UserStatus.DISABLED)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+    }
+
+    public Map<Long, Set<RoleResponse>> findRolesByUserIds(Collection<Long> userIds) {
+        Map<Long, Set<RoleResponse>> roles = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return roles;
+        }
+        for (UserRoleView role : userRoleRepository.findRoleViewsByUserIdIn(userIds)) {
+            roles.computeIfAbsent(role.getUserId(), userId -> new HashSet<>()).add(RoleResponse.from(role));
+        }
+        return roles;
+    }
+}
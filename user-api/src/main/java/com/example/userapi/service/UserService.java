@@ -3,42 +3,79 @@ package com.example.userapi.service;
 import com.example.userapi.aspect.Auditable;
 import com.example.userapi.dto.request.CreateUserRequest;
 import com.example.userapi.dto.request.UpdateUserRequest;
-import com.example.userapi.entity.Role;
+import com.example.userapi.dto.request.UserMergePatch;
 import com.example.userapi.entity.User;
-import com.example.userapi.entity.UserRole;
 import com.example.userapi.enums.AuditEventType;
+import com.example.userapi.enums.UserChangeType;
 import com.example.userapi.enums.UserStatus;
+import com.example.userapi.event.UserCredentialsChangedEvent;
+import com.example.userapi.event.UserIdentifiersAddedEvent;
 import com.example.userapi.exception.DuplicateResourceException;
+import com.example.userapi.exception.InvalidRequestException;
 import com.example.userapi.exception.ResourceNotFoundException;
 import com.example.userapi.repository.RoleRepository;
 import com.example.userapi.repository.UserRepository;
 import com.example.userapi.repository.UserRoleRepository;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import com.example.userapi.security.LoginAttemptThrottle;
+import com.example.userapi.service.changefeed.UserChangeLog;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "user.service", histogram = true)
 public class UserService {
 
+    private static final String INSERT_USER_ROLE_SQL = "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final UserRoleRepository userRoleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditLogService auditLogService;
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+    private final UserChangeLog userChangeLog;
+    private final LoginAttemptThrottle loginAttemptThrottle;
 
     public UserService(UserRepository userRepository,
                        RoleRepository roleRepository,
                        UserRoleRepository userRoleRepository,
-                       PasswordEncoder passwordEncoder) {
+                       PasswordEncoder passwordEncoder,
+                       ApplicationEventPublisher eventPublisher,
+                       AuditLogService auditLogService,
+                       JdbcTemplate jdbcTemplate,
+                       Validator validator,
+                       UserChangeLog userChangeLog,
+                       LoginAttemptThrottle loginAttemptThrottle) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.userRoleRepository = userRoleRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
+        this.auditLogService = auditLogService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.validator = validator;
+        this.userChangeLog = userChangeLog;
+        this.loginAttemptThrottle = loginAttemptThrottle;
     }
 
     @Transactional
@@ -60,18 +97,10 @@ public class UserService {
         user.setPhone(request.getPhone());
         user.setStatus(UserStatus.ENABLED);
 
-        return userRepository.save(user);
-    }
-
-    @Transactional(readOnly = true)
-    public Page<User> getAllUsers(Pageable pageable) {
-        return userRepository.findByStatusNot(UserStatus.DISABLED, pageable);
-    }
-
-    @Transactional(readOnly = true)
-    public User getUserById(Long id) {
-        return userRepository.findByIdAndStatusNot(id, UserStatus.DISABLED)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+        eventPublisher.publishEvent(UserIdentifiersAddedEvent.created(user.getUsername(), user.getEmail()));
+        User saved = userRepository.save(user);
+        userChangeLog.record(saved.getId(), saved.getUsername(), UserChangeType.CREATED);
+        return saved;
     }
 
     @Transactional
@@ -80,12 +109,13 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
 
-        if (request.getEmail() != null) {
+        if (request.getEmail() != null && !request.getEmail().equals(user.getEmail())) {
             userRepository.findByEmail(request.getEmail())
                     .filter(existing -> !existing.getId().equals(id))
                     .ifPresent(existing -> {
                         throw new DuplicateResourceException("User", "email", request.getEmail());
                     });
+            eventPublisher.publishEvent(UserIdentifiersAddedEvent.emailChanged(request.getEmail()));
             user.setEmail(request.getEmail());
         }
         if (request.getFirstName() != null) {
@@ -97,45 +127,175 @@ public class UserService {
         if (request.getPhone() != null) {
             user.setPhone(request.getPhone());
         }
+        UserStatus previousStatus = user.getStatus();
         if (request.getEnabled() != null) {
             if(!user.setEnabled(request.getEnabled())) throw new IllegalStateException("Cannot change enabled status while user is " + user.getStatus());
+            if (user.getStatus() != previousStatus) {
+                user.incrementCredentialVersion();
+            }
+        }
+        if (previousStatus == UserStatus.LOCKED && user.getStatus() == UserStatus.ENABLED) {
+            unlocked(user);
         }
 
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(user.getUsername()));
+        userChangeLog.record(id, user.getUsername(), changeTypeFor(previousStatus, user.getStatus()));
         return userRepository.save(user);
     }
 
+    // 只套用實際變動的欄位：@DynamicUpdate 讓 UPDATE 只包含這些欄位，沒有變動時不寫入也不記錄審計。
+    // email 不預先查詢是否重複，由唯一約束在 flush 時判定
+    @Transactional
+    public User patchUser(Long id, UserMergePatch patch) {
+        Set<ConstraintViolation<UpdateUserRequest>> violations = validator.validate(patch.getValues());
+        if (!violations.isEmpty()) {
+            throw new InvalidRequestException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+        UpdateUserRequest values = patch.getValues();
+
+        UserStatus previousStatus = user.getStatus();
+        List<String> changed = new ArrayList<>();
+        if (patch.has("email") && !values.getEmail().equals(user.getEmail())) {
+            user.setEmail(values.getEmail());
+            changed.add("email");
+        }
+        if (patch.has("firstName") && !Objects.equals(values.getFirstName(), user.getFirstName())) {
+            user.setFirstName(values.getFirstName());
+            changed.add("firstName");
+        }
+        if (patch.has("lastName") && !Objects.equals(values.getLastName(), user.getLastName())) {
+            user.setLastName(values.getLastName());
+            changed.add("lastName");
+        }
+        if (patch.has("phone") && !Objects.equals(values.getPhone(), user.getPhone())) {
+            user.setPhone(values.getPhone());
+            changed.add("phone");
+        }
+        if (patch.has("enabled")) {
+            if (!user.setEnabled(values.getEnabled())) {
+                throw new IllegalStateException("Cannot change enabled status while user is " + user.getStatus());
+            }
+            if (user.getStatus() != previousStatus) {
+                user.incrementCredentialVersion();
+                changed.add("enabled");
+            }
+        }
+        if (changed.isEmpty()) {
+            return user;
+        }
+
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (changed.contains("email") && isEmailUniqueViolation(e)) {
+                throw new DuplicateResourceException("User", "email", user.getEmail());
+            }
+            throw e;
+        }
+        if (changed.contains("email")) {
+            eventPublisher.publishEvent(UserIdentifiersAddedEvent.emailChanged(user.getEmail()));
+        }
+        if (changed.contains("enabled")) {
+            eventPublisher.publishEvent(new UserCredentialsChangedEvent(user.getUsername()));
+        }
+        if (previousStatus == UserStatus.LOCKED && user.getStatus() == UserStatus.ENABLED) {
+            unlocked(user);
+        }
+        userChangeLog.record(id, user.getUsername(), changeTypeFor(previousStatus, user.getStatus()));
+        auditLogService.log(user, AuditEventType.ACCOUNT_UPDATED, "Patched fields: " + String.join(", ", changed));
+        return user;
+    }
+
     @Transactional
     @Auditable(eventType = AuditEventType.ACCOUNT_DISABLED)
     public User deleteUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
         user.setStatus(UserStatus.DISABLED);
+        user.incrementCredentialVersion();
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(user.getUsername()));
+        userChangeLog.record(id, user.getUsername(), UserChangeType.DISABLED);
         return userRepository.save(user);
     }
 
+    // 獨立交易：呼叫端的登入交易不論成功與否，鎖定都會生效
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void lockAccount(String username, String details) {
+        userRepository.findCredentialsByUsername(username)
+                .filter(user -> user.getStatus() == UserStatus.ENABLED)
+                .ifPresent(user -> {
+                    if (userRepository.lockIfEnabled(user.getId()) == 0) {
+                        return;
+                    }
+                    eventPublisher.publishEvent(new UserCredentialsChangedEvent(user.getUsername()));
+                    userChangeLog.record(user.getId(), user.getUsername(), UserChangeType.LOCKED);
+                    auditLogService.log(user.getId(), AuditEventType.ACCOUNT_LOCKED, details);
+                });
+    }
+
+    // 管理者解鎖：清除本節點的登入失敗紀錄，避免下一次失敗就再次達到鎖定條件；
+    // 其他節點的紀錄在視窗過期後自然清除
+    private void unlocked(User user) {
+        loginAttemptThrottle.reset(user.getUsername());
+        auditLogService.log(user, AuditEventType.ACCOUNT_ENABLED, "Unlocked by administrator");
+    }
+
+    // 只寫入差異：新增與移除的角色各一個批次陳述式，角色未變動時不做任何寫入
     @Transactional
-    @Auditable(eventType = AuditEventType.ROLE_CHANGE, detail = "'Roles assigned: ' + #args[1]")
-    public User assignRoles(Long userId, Set<Long> roleIds) {
-        User user = userRepository.findById(userId)
+    public void assignRoles(Long userId, Set<Long> roleIds) {
+        String username = userRepository.findUsernameById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
-        List<Role> roles = roleRepository.findAllById(roleIds);
-        if (roles.size() != roleIds.size()) {
+        if (!roleIds.isEmpty() && roleRepository.findExistingIds(roleIds).size() != roleIds.size()) {
             throw new ResourceNotFoundException("Role", "ids", roleIds);
         }
 
-        userRoleRepository.deleteByUserId(userId);
+        Set<Long> current = new HashSet<>(userRoleRepository.findRoleIdsByUserId(userId));
+        List<Long> toAdd = roleIds.stream().filter(roleId -> !current.contains(roleId)).toList();
+        List<Long> toRemove = current.stream().filter(roleId -> !roleIds.contains(roleId)).toList();
+        if (toAdd.isEmpty() && toRemove.isEmpty()) {
+            return;
+        }
 
-        Set<UserRole> userRoles = roles.stream().map(role -> {
-            UserRole userRole = new UserRole();
-            userRole.setUser(user);
-            userRole.setRole(role);
-            return userRole;
-        }).collect(Collectors.toSet());
+        if (!toRemove.isEmpty()) {
+            userRoleRepository.deleteByUserIdAndRoleIdIn(userId, toRemove);
+        }
+        if (!toAdd.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_USER_ROLE_SQL, toAdd, toAdd.size(), (ps, roleId) -> {
+                ps.setLong(1, userId);
+                ps.setLong(2, roleId);
+            });
+        }
+        Set<Long> changedRoleIds = new HashSet<>(toAdd);
+        changedRoleIds.addAll(toRemove);
+        roleRepository.touchByIdIn(changedRoleIds, Instant.now());
+        userRepository.incrementCredentialVersionById(userId);
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(username));
+        userChangeLog.record(userId, username, UserChangeType.ROLES_CHANGED);
+        auditLogService.log(userId, AuditEventType.ROLE_CHANGE,
+                "Roles assigned: " + roleIds + " (added " + toAdd + ", removed " + toRemove + ")");
+    }
 
-        userRoleRepository.saveAll(userRoles);
-        user.setRoles(userRoles);
+    // 唯一約束名稱由 Hibernate 產生，改以 SQLSTATE 23505 與違反的欄位判斷
+    // （PostgreSQL：Key (email)=(...)；H2：USERS(EMAIL NULLS FIRST)）
+    private static boolean isEmailUniqueViolation(DataIntegrityViolationException e) {
+        Throwable cause = e.getMostSpecificCause();
+        if (!(cause instanceof SQLException sqlException) || !"23505".equals(sqlException.getSQLState())
+                || cause.getMessage() == null) {
+            return false;
+        }
+        String message = cause.getMessage().toLowerCase(Locale.ROOT);
+        return message.contains("(email)") || message.contains("(email ");
+    }
 
-        return user;
+    private static UserChangeType changeTypeFor(UserStatus previousStatus, UserStatus currentStatus) {
+        return currentStatus == UserStatus.DISABLED && previousStatus != UserStatus.DISABLED
+                ? UserChangeType.DISABLED
+                : UserChangeType.UPDATED;
     }
 }
@@ -0,0 +1,219 @@
+package com.example.userapi.service.audit;
+
+import com.example.userapi.config.AuditProperties;
+import com.example.userapi.enums.AuditOverflowPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 以有界佇列收集審計事件，由背景執行緒依筆數或時間批次寫入 audit_logs
+public class AsyncBatchingAuditSink implements AuditSink, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncBatchingAuditSink.class);
+
+    private final JdbcAuditWriter writer;
+    private final BlockingQueue<AuditEvent> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final AuditOverflowPolicy overflowPolicy;
+    private final long shutdownTimeoutMs;
+
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter droppedCounter;
+    private final Counter callerRunsCounter;
+
+    private volatile boolean running;
+    // 入列端持有 read lock 檢查 running 並入列；stop() 以 write lock 切換 running，
+    // 之後不會再有事件進入佇列，最後一次 drainTo 不會遺漏
+    private final ReadWriteLock lifecycleLock = new ReentrantReadWriteLock();
+    private Thread worker;
+
+    public AsyncBatchingAuditSink(JdbcAuditWriter writer, AuditProperties properties, MeterRegistry meterRegistry) {
+        this.writer = writer;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.batchSize = properties.getBatchSize();
+        this.flushIntervalMs = properties.getFlushIntervalMs();
+        this.overflowPolicy = properties.getOverflowPolicy();
+        this.shutdownTimeoutMs = properties.getShutdownTimeoutMs();
+
+        Gauge.builder("audit.queue.depth", queue, BlockingQueue::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("audit.flush.duration")
+                .description("Time to write one batch of audit events")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("audit.flush.batch.size")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("audit.events.dropped")
+                .description("Audit events discarded by the DROP_OLDEST overflow policy")
+                .register(meterRegistry);
+        this.callerRunsCounter = Counter.builder("audit.events.caller.runs")
+                .description("Audit events written synchronously because the queue was full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void submit(AuditEvent event) {
+        // 交易中產生的事件等 commit 後才入列，避免背景寫入時關聯的 user 尚未可見
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    private void enqueue(AuditEvent event) {
+        Lock readLock = lifecycleLock.readLock();
+        readLock.lock();
+        try {
+            if (running) {
+                offer(event);
+                return;
+            }
+        } finally {
+            readLock.unlock();
+        }
+        writer.writeEach(List.of(event));
+    }
+
+    private void offer(AuditEvent event) {
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                try {
+                    queue.put(event);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    writer.writeEach(List.of(event));
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!queue.offer(event)) {
+                    if (queue.poll() != null) {
+                        droppedCounter.increment();
+                    }
+                }
+            }
+            case CALLER_RUNS -> {
+                if (!queue.offer(event)) {
+                    callerRunsCounter.increment();
+                    writer.writeEach(List.of(event));
+                }
+            }
+        }
+    }
+
+    private void runWorker() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AuditEvent first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    AuditEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<AuditEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            writer.write(batch);
+        } catch (DataAccessException e) {
+            log.warn("Batch insert of {} audit events failed, retrying one by one: {}", batch.size(), e.getMessage());
+            writer.writeEach(batch);
+        } catch (RuntimeException e) {
+            log.error("Unexpected failure writing {} audit events", batch.size(), e);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSizeSummary.record(batch.size());
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::runWorker, "audit-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        lifecycleLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            lifecycleLock.writeLock().unlock();
+        }
+        if (worker != null) {
+            try {
+                worker.join(shutdownTimeoutMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<AuditEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            flush(remaining.subList(from, Math.min(remaining.size(), from + batchSize)));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 在 web server 停止之後、DataSource 關閉之前執行 stop()，確保最後一批事件被寫入
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.userapi.service.audit;
+
+import com.example.userapi.enums.AuditEventType;
+
+import java.time.Instant;
+
+public class AuditEvent {
+
+    private final Long userId;
+    private final AuditEventType eventType;
+    private final String ipAddress;
+    private final String userAgent;
+    private final String details;
+    private final Instant createdAt;
+
+    public AuditEvent(Long userId, AuditEventType eventType, String ipAddress, String userAgent, String details) {
+        this.userId = userId;
+        this.eventType = eventType;
+        this.ipAddress = ipAddress;
+        this.userAgent = userAgent;
+        this.details = details;
+        this.createdAt = Instant.now();
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public AuditEventType getEventType() {
+        return eventType;
+    }
+
+    public String getIpAddress() {
+        return ipAddress;
+    }
+
+    public String getUserAgent() {
+        return userAgent;
+    }
+
+    public String getDetails() {
+        return details;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.userapi.service.audit;
+
+import com.example.userapi.enums.AuditEventType;
+import com.example.userapi.exception.InvalidRequestException;
+
+import java.time.Instant;
+
+public class AuditExportFilter {
+
+    private final Long userId;
+    private final AuditEventType eventType;
+    private final Instant from;
+    private final Instant to;
+
+    public AuditExportFilter(Long userId, AuditEventType eventType, Instant from, Instant to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new InvalidRequestException("'from' must be before 'to'");
+        }
+        this.userId = userId;
+        this.eventType = eventType;
+        this.from = from;
+        this.to = to;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public AuditEventType getEventType() {
+        return eventType;
+    }
+
+    public Instant getFrom() {
+        return from;
+    }
+
+    public Instant getTo() {
+        return to;
+    }
+}
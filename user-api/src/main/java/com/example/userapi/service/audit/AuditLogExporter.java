@@ -0,0 +1,217 @@
+package com.example.userapi.service.audit;
+
+import com.example.userapi.config.AuditExportProperties;
+import com.example.userapi.enums.AuditExportFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+// 以 forward-only JDBC cursor 逐列讀取並直接寫入輸出串流，不建立實體；記憶體用量與匯出筆數無關。
+// 寫入阻塞時（客戶端讀取較慢）不會再從 cursor 取下一批資料，背壓由 socket 傳回資料庫端。
+@Component
+public class AuditLogExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogExporter.class);
+
+    private static final String SELECT_SQL =
+            "SELECT id, user_id, event_type, ip_address, user_agent, details, created_at FROM audit_logs";
+
+    private static final String CSV_HEADER = "id,user_id,event_type,ip_address,user_agent,details,created_at\n";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final AuditExportProperties properties;
+
+    public AuditLogExporter(DataSource dataSource, PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper, AuditExportProperties properties) {
+        // 獨立的 JdbcTemplate：PostgreSQL 需要 fetchSize 且非 autocommit 才會使用 cursor 分批取回
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.getFetchSize());
+        this.jdbcTemplate.setQueryTimeout(properties.getQueryTimeoutSeconds());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    public long export(AuditExportFilter filter, AuditExportFormat format, OutputStream out) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL).append(" WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (filter.getUserId() != null) {
+            sql.append(" AND user_id = ?");
+            args.add(filter.getUserId());
+        }
+        if (filter.getEventType() != null) {
+            sql.append(" AND event_type = ?");
+            args.add(filter.getEventType().name());
+        }
+        if (filter.getFrom() != null) {
+            sql.append(" AND created_at >= ?");
+            args.add(OffsetDateTime.ofInstant(filter.getFrom(), ZoneOffset.UTC));
+        }
+        if (filter.getTo() != null) {
+            sql.append(" AND created_at < ?");
+            args.add(OffsetDateTime.ofInstant(filter.getTo(), ZoneOffset.UTC));
+        }
+        sql.append(" ORDER BY created_at, id");
+
+        long start = System.nanoTime();
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(out, StandardCharsets.UTF_8), properties.getBufferSize());
+        RowWriter rowWriter = format == AuditExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        long[] rows = {0};
+
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(sql.toString(), rs -> {
+            try {
+                rowWriter.write(rs);
+                if (++rows[0] % properties.getFetchSize() == 0) {
+                    rowWriter.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, args.toArray()));
+
+        try {
+            rowWriter.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Exported {} audit log rows as {} in {} ms",
+                rows[0], format, (System.nanoTime() - start) / 1_000_000);
+        return rows[0];
+    }
+
+    private interface RowWriter {
+
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void flush() throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+
+        private final Writer writer;
+        private final JsonGenerator generator;
+
+        private NdjsonRowWriter(Writer writer) {
+            this.writer = writer;
+            try {
+                this.generator = objectMapper.getFactory().createGenerator(writer);
+                // 預設在 root value 之間寫入空白，會讓第二行起以空白開頭；換行由 write 自行寫出
+                this.generator.setRootValueSeparator(null);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getLong("id"));
+            generator.writeNumberField("userId", rs.getLong("user_id"));
+            generator.writeStringField("eventType", rs.getString("event_type"));
+            generator.writeStringField("ipAddress", rs.getString("ip_address"));
+            generator.writeStringField("userAgent", rs.getString("user_agent"));
+            generator.writeStringField("details", rs.getString("details"));
+            generator.writeStringField("createdAt", createdAt(rs));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+            writer.flush();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        private CsvRowWriter(Writer writer) {
+            this.writer = writer;
+            try {
+                writer.write(CSV_HEADER);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            writer.write(Long.toString(rs.getLong("id")));
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong("user_id")));
+            writer.write(',');
+            writer.write(rs.getString("event_type"));
+            writer.write(',');
+            writeField(rs.getString("ip_address"));
+            writer.write(',');
+            writeField(rs.getString("user_agent"));
+            writer.write(',');
+            writeField(rs.getString("details"));
+            writer.write(',');
+            writer.write(createdAt(rs));
+            writer.write('\n');
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private static String createdAt(ResultSet rs) throws SQLException {
+        return rs.getObject("created_at", OffsetDateTime.class).toInstant().toString();
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.userapi.service.audit;
+
+import com.example.userapi.config.AuditPartitionProperties;
+import com.example.userapi.enums.AuditRetentionMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 將 audit_logs 維護為依 created_at 按月分區的 PostgreSQL 分區表：
+// 啟動時視需要把既有的一般資料表轉換為分區表，之後定期預建未來分區，
+// 保留政策以 DETACH / DROP 整個分區取代逐列刪除。
+@Component
+@ConditionalOnProperty(prefix = "audit.partitioning", name = "enabled", havingValue = "true")
+public class AuditPartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditPartitionManager.class);
+
+    private static final String TABLE = "audit_logs";
+    private static final String LEGACY_TABLE = "audit_logs_legacy";
+    private static final String SEQUENCE = "audit_logs_id_seq";
+    private static final String DEFAULT_PARTITION = "audit_logs_default";
+    private static final Pattern PARTITION_NAME = Pattern.compile("audit_logs_y(\\d{4})m(\\d{2})");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+    // pg_advisory_xact_lock 的 key，避免多個節點同時執行維護
+    private static final long MAINTENANCE_LOCK_KEY = 0x6175646974L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditPartitionProperties properties;
+    private final Clock clock;
+
+    public AuditPartitionManager(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                 AuditPartitionProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.clock = Clock.systemUTC();
+    }
+
+    // 在 Hibernate schema update 之後執行，確保 audit_logs 已存在
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        transactionTemplate.executeWithoutResult(status -> {
+            lock();
+            if (!isPartitioned()) {
+                migrateToPartitioned();
+            }
+            createFuturePartitions();
+        });
+        applyRetention();
+    }
+
+    @Scheduled(cron = "${audit.partitioning.maintenance-cron:0 15 3 * * *}", zone = "UTC")
+    public void maintain() {
+        transactionTemplate.executeWithoutResult(status -> {
+            lock();
+            if (isPartitioned()) {
+                createFuturePartitions();
+            }
+        });
+        applyRetention();
+    }
+
+    public void applyRetention() {
+        if (properties.getRetentionMonths() <= 0) {
+            return;
+        }
+        YearMonth oldestKept = YearMonth.now(clock).minusMonths(properties.getRetentionMonths());
+        transactionTemplate.executeWithoutResult(status -> {
+            lock();
+            for (String partition : listPartitions()) {
+                Matcher matcher = PARTITION_NAME.matcher(partition);
+                if (!matcher.matches()) {
+                    continue;
+                }
+                YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+                if (!month.isBefore(oldestKept)) {
+                    continue;
+                }
+                if (properties.getRetentionMode() == AuditRetentionMode.DROP) {
+                    jdbcTemplate.execute("DROP TABLE " + partition);
+                    log.info("Dropped audit partition {}", partition);
+                } else {
+                    jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition);
+                    log.info("Detached audit partition {}; archive and drop it manually", partition);
+                }
+            }
+        });
+    }
+
+    private void lock() {
+        jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)::text", String.class, MAINTENANCE_LOCK_KEY);
+    }
+
+    private boolean isPartitioned() {
+        String kind = jdbcTemplate.queryForObject(
+                "SELECT c.relkind::text FROM pg_class c WHERE c.oid = to_regclass(?)", String.class, TABLE);
+        return "p".equals(kind);
+    }
+
+    private List<String> listPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "WHERE i.inhparent = to_regclass(?) ORDER BY c.relname", String.class, TABLE);
+    }
+
+    // 每個月份各自在 savepoint 內建立：單一月份失敗（例如 default 分區資料無法搬移）只記錄錯誤，
+    // 不影響其餘月份，也不會讓整個維護交易 rollback
+    private void createFuturePartitions() {
+        YearMonth current = YearMonth.now(clock);
+        for (int i = 0; i <= properties.getPremakeMonths(); i++) {
+            YearMonth month = current.plusMonths(i);
+            if (exists(partitionName(month))) {
+                continue;
+            }
+            jdbcTemplate.execute("SAVEPOINT create_audit_partition");
+            try {
+                createPartition(month);
+                jdbcTemplate.execute("RELEASE SAVEPOINT create_audit_partition");
+            } catch (DataAccessException e) {
+                jdbcTemplate.execute("ROLLBACK TO SAVEPOINT create_audit_partition");
+                log.error("Failed to create audit partition {}: {}", partitionName(month), e.getMessage());
+            }
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        String partition = partitionName(month);
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        // 日期字面值以 UTC 解讀，與寫入端使用的 UTC 時間一致
+        String lower = "'" + from + " 00:00:00+00'";
+        String upper = "'" + to + " 00:00:00+00'";
+        String range = " FOR VALUES FROM (" + lower + ") TO (" + upper + ")";
+        if (!hasDefaultRows(lower, upper)) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + TABLE + range);
+            return;
+        }
+        // default 分區已有落在此月份的資料時無法直接建立分區：先建立獨立資料表，
+        // 把資料從 default 分區搬過去再 ATTACH（父表的索引與外鍵會在 ATTACH 時套用）
+        jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE " + TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION +
+                " WHERE created_at >= " + lower + " AND created_at < " + upper + " RETURNING *) " +
+                "INSERT INTO " + partition + " SELECT * FROM moved");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + partition + range);
+        log.info("Created audit partition {} with {} rows moved from {}", partition, moved, DEFAULT_PARTITION);
+    }
+
+    private boolean exists(String relation) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, relation));
+    }
+
+    private boolean hasDefaultRows(String lower, String upper) {
+        if (!exists(DEFAULT_PARTITION)) {
+            return false;
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION +
+                " WHERE created_at >= " + lower + " AND created_at < " + upper + ")", Boolean.class));
+    }
+
+    private static String partitionName(YearMonth month) {
+        return TABLE + "_" + month.format(PARTITION_SUFFIX);
+    }
+
+    // 一次性轉換：同一個交易內完成，失敗時整個 rollback，原資料表維持不變
+    private void migrateToPartitioned() {
+        log.info("Converting {} to a monthly range-partitioned table", TABLE);
+        jdbcTemplate.execute("LOCK TABLE " + TABLE + " IN ACCESS EXCLUSIVE MODE");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + LEGACY_TABLE);
+        // 移除 identity（連同其 sequence），改由共用 sequence 產生 id，JPA 與 JDBC 寫入端都不需指定 id
+        jdbcTemplate.execute("ALTER TABLE " + LEGACY_TABLE + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+        jdbcTemplate.execute("ALTER TABLE " + LEGACY_TABLE + " ALTER COLUMN id DROP DEFAULT");
+        jdbcTemplate.execute("DROP SEQUENCE IF EXISTS " + SEQUENCE);
+        jdbcTemplate.execute("CREATE SEQUENCE " + SEQUENCE);
+
+        // 分區表的主鍵必須包含分區鍵
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (" +
+                "id bigint NOT NULL DEFAULT nextval('" + SEQUENCE + "'), " +
+                "user_id bigint NOT NULL REFERENCES users (id), " +
+                "event_type varchar(30) NOT NULL, " +
+                "ip_address varchar(45), " +
+                "user_agent varchar(500), " +
+                "details text, " +
+                "created_at timestamp(6) with time zone NOT NULL, " +
+                "CONSTRAINT audit_logs_partitioned_pkey PRIMARY KEY (id, created_at)" +
+                ") PARTITION BY RANGE (created_at)");
+        jdbcTemplate.execute("ALTER SEQUENCE " + SEQUENCE + " OWNED BY " + TABLE + ".id");
+        // 超出預建範圍的資料落入 default 分區，不會寫入失敗
+        jdbcTemplate.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF " + TABLE + " DEFAULT");
+
+        List<YearMonth> months = jdbcTemplate.queryForList(
+                "SELECT DISTINCT to_char(created_at AT TIME ZONE 'UTC', 'YYYY-MM') FROM " + LEGACY_TABLE,
+                String.class).stream().map(YearMonth::parse).toList();
+        months.forEach(this::createPartition);
+        createFuturePartitions();
+
+        int copied = jdbcTemplate.update("INSERT INTO " + TABLE +
+                " (id, user_id, event_type, ip_address, user_agent, details, created_at) " +
+                "SELECT id, user_id, event_type, ip_address, user_agent, details, created_at FROM " + LEGACY_TABLE);
+        jdbcTemplate.execute("SELECT setval('" + SEQUENCE + "', COALESCE((SELECT max(id) FROM " + TABLE + "), 0) + 1, false)");
+        jdbcTemplate.execute("DROP TABLE " + LEGACY_TABLE);
+
+        // 在父表建立索引會自動建立到每個分區（沿用原本的索引名稱）
+        jdbcTemplate.execute("CREATE INDEX idx_audit_logs_user_id_created_at ON " + TABLE + " (user_id, created_at DESC)");
+        jdbcTemplate.execute("CREATE INDEX idx_audit_logs_event_type ON " + TABLE + " (event_type)");
+        jdbcTemplate.execute("CREATE INDEX idx_audit_logs_created_at ON " + TABLE + " (created_at)");
+        log.info("Converted {} to a partitioned table ({} rows, {} historical partitions)",
+                TABLE, copied, months.size());
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.userapi.service.audit;
+
+import java.util.List;
+
+public interface AuditSink {
+
+    void submit(AuditEvent event);
+
+    default void submitAll(List<AuditEvent> events) {
+        events.forEach(this::submit);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.userapi.service.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+@Component
+public class JdbcAuditWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcAuditWriter.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_logs (user_id, event_type, ip_address, user_agent, details, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcAuditWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void write(List<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setLong(1, event.getUserId());
+            ps.setString(2, event.getEventType().name());
+            ps.setString(3, event.getIpAddress());
+            ps.setString(4, event.getUserAgent());
+            if (event.getDetails() != null) {
+                ps.setString(5, event.getDetails());
+            } else {
+                ps.setNull(5, Types.VARCHAR);
+            }
+            ps.setObject(6, OffsetDateTime.ofInstant(event.getCreatedAt(), ZoneOffset.UTC));
+        });
+    }
+
+    // 批次失敗時逐筆重試，只丟棄真正寫不進去的那幾筆（例如使用者交易已 rollback）
+    public void writeEach(List<AuditEvent> events) {
+        for (AuditEvent event : events) {
+            try {
+                write(List.of(event));
+            } catch (DataAccessException e) {
+                log.warn("Dropping audit event {} for user {}: {}",
+                        event.getEventType(), event.getUserId(), e.getMessage());
+            }
+        }
+    }
+}
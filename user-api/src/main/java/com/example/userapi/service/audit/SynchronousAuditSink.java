@@ -0,0 +1,23 @@
+package com.example.userapi.service.audit;
+
+import java.util.List;
+
+// 在呼叫端執行緒與交易內直接寫入，行為與原本的 AuditLogService.log 相同
+public class SynchronousAuditSink implements AuditSink {
+
+    private final JdbcAuditWriter writer;
+
+    public SynchronousAuditSink(JdbcAuditWriter writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void submit(AuditEvent event) {
+        writer.write(List.of(event));
+    }
+
+    @Override
+    public void submitAll(List<AuditEvent> events) {
+        writer.write(events);
+    }
+}
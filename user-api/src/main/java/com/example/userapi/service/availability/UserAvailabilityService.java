@@ -0,0 +1,150 @@
+package com.example.userapi.service.availability;
+
+import com.example.userapi.config.UserAvailabilityProperties;
+import com.example.userapi.event.UserIdentifiersAddedEvent;
+import com.example.userapi.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// username / email 可用性檢查：Bloom filter 判定「一定不存在」時直接回答可用，只有可能命中時才查唯一索引。
+// filter 在啟動時由 users 資料表建立，本節點新增使用者時同步加入；其他節點新增的值要到下次重建才會反映，
+// 因此結果僅供表單提示，建立帳號時仍以資料庫唯一約束為準。
+@Service
+public class UserAvailabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserAvailabilityService.class);
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserAvailabilityProperties properties;
+    private final Counter definiteCounter;
+    private final Counter probeCounter;
+
+    // 尚未建立完成時為 null，所有檢查都查資料庫
+    private volatile Filters current;
+    // 重建期間新增的值同時寫入新舊兩份 filter
+    private volatile Filters building;
+
+    public UserAvailabilityService(UserRepository userRepository, DataSource dataSource,
+                                   PlatformTransactionManager transactionManager,
+                                   UserAvailabilityProperties properties, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.properties = properties;
+        // 與 AuditLogExporter 相同：PostgreSQL 需要 fetchSize 且非 autocommit 才會以 cursor 分批讀取。
+        // 刻意不設 readOnly，讓讀寫分離時仍從 primary 讀取，避免 replica 延遲漏掉剛建立的帳號
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.getFetchSize());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.definiteCounter = Counter.builder("user.availability.checks")
+                .tag("result", "bloom_negative")
+                .description("Availability checks answered by the Bloom filter without a query")
+                .register(meterRegistry);
+        this.probeCounter = Counter.builder("user.availability.checks")
+                .tag("result", "database")
+                .description("Availability checks that fell back to an indexed query")
+                .register(meterRegistry);
+        Gauge.builder("user.availability.bloom.bytes", this,
+                        service -> service.current == null ? 0 : service.current.sizeInBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("user.availability.bloom.false_positive_rate", this,
+                        service -> service.current == null ? 0 : service.current.estimatedFalsePositiveRate())
+                .description("Estimated false-positive rate of the username and email filters (worst of the two)")
+                .register(meterRegistry);
+    }
+
+    public boolean isUsernameAvailable(String username) {
+        return isAvailable(username, Filters::usernames, userRepository::existsByUsername);
+    }
+
+    public boolean isEmailAvailable(String email) {
+        return isAvailable(email, Filters::emails, userRepository::existsByEmail);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${user.availability.rebuild-cron:0 30 4 * * *}")
+    public void rebuild() {
+        if (!properties.isBloomFilterEnabled()) {
+            return;
+        }
+        try {
+            long started = System.nanoTime();
+            Long userCount = jdbcTemplate.queryForObject("SELECT count(*) FROM users", Long.class);
+            long expected = Math.max(properties.getMinExpectedInsertions(),
+                    (long) (userCount * properties.getGrowthFactor()));
+            Filters filters = new Filters(new BloomFilter(expected, properties.getFalsePositiveRate()),
+                    new BloomFilter(expected, properties.getFalsePositiveRate()));
+            building = filters;
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(
+                    "SELECT username, email FROM users", rs -> {
+                        filters.usernames().put(rs.getString(1));
+                        filters.emails().put(rs.getString(2));
+                    }));
+            current = filters;
+            log.info("Built availability Bloom filters for {} users ({} bytes, capacity {}) in {} ms",
+                    userCount, filters.sizeInBytes(), expected, (System.nanoTime() - started) / 1_000_000);
+        } catch (DataAccessException e) {
+            log.warn("Failed to build availability Bloom filters; checks will query the database: {}", e.getMessage());
+        } finally {
+            building = null;
+        }
+    }
+
+    // 同步執行且不等交易提交：提交後到加入 filter 之間不會出現「誤判為可用」的空窗；rollback 只會多出誤判命中
+    @EventListener
+    public void onUserIdentifiersAdded(UserIdentifiersAddedEvent event) {
+        add(current, event);
+        add(building, event);
+    }
+
+    private boolean isAvailable(String value, Function<Filters, BloomFilter> filter,
+                                Predicate<String> exists) {
+        Filters filters = current;
+        if (filters != null && !filter.apply(filters).mightContain(value)) {
+            definiteCounter.increment();
+            return true;
+        }
+        probeCounter.increment();
+        return !exists.test(value);
+    }
+
+    private static void add(Filters filters, UserIdentifiersAddedEvent event) {
+        if (filters == null) {
+            return;
+        }
+        event.getUsernames().forEach(filters.usernames()::put);
+        event.getEmails().forEach(filters.emails()::put);
+    }
+
+    private record Filters(BloomFilter usernames, BloomFilter emails) {
+
+        long sizeInBytes() {
+            return usernames.sizeInBytes() + emails.sizeInBytes();
+        }
+
+        double estimatedFalsePositiveRate() {
+            return Math.max(usernames.estimatedFalsePositiveRate(), emails.estimatedFalsePositiveRate());
+        }
+    }
+}
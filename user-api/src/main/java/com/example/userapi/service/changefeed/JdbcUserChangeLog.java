@@ -0,0 +1,58 @@
+package com.example.userapi.service.changefeed;
+
+import com.example.userapi.enums.UserChangeType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// 將使用者異動寫入 user_change_events；必須在異動所屬的交易內呼叫，rollback 時紀錄一併撤銷
+@Component
+@ConditionalOnProperty(prefix = "user.change-feed", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class JdbcUserChangeLog implements UserChangeLog {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO user_change_events (user_id, username, change_type, created_at, txid) " +
+            "VALUES (?, ?, ?, ?, " + UserChangeSequencer.CURRENT_TXID_SQL + ")";
+
+    private static final String INSERT_ROLE_MEMBERS_SQL =
+            "INSERT INTO user_change_events (user_id, username, change_type, created_at, txid) " +
+            "SELECT u.id, u.username, ?, ?, " + UserChangeSequencer.CURRENT_TXID_SQL +
+            " FROM user_roles ur JOIN users u ON u.id = ur.user_id WHERE ur.role_id = ? ORDER BY u.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcUserChangeLog(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long userId, String username, UserChangeType changeType) {
+        jdbcTemplate.update(INSERT_SQL, userId, username, changeType.name(), Timestamp.from(Instant.now()));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(List<Long> userIds, List<String> usernames, UserChangeType changeType) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> args = new ArrayList<>(userIds.size());
+        for (int i = 0; i < userIds.size(); i++) {
+            args.add(new Object[]{userIds.get(i), usernames.get(i), changeType.name(), now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+    }
+
+    // 一次以 INSERT ... SELECT 寫入，不載入成員清單
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRoleMembers(Long roleId, UserChangeType changeType) {
+        jdbcTemplate.update(INSERT_ROLE_MEMBERS_SQL, changeType.name(), Timestamp.from(Instant.now()), roleId);
+    }
+}
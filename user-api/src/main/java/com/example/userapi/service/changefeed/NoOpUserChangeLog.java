@@ -0,0 +1,24 @@
+package com.example.userapi.service.changefeed;
+
+import com.example.userapi.enums.UserChangeType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(prefix = "user.change-feed", name = "enabled", havingValue = "false")
+public class NoOpUserChangeLog implements UserChangeLog {
+
+    @Override
+    public void record(Long userId, String username, UserChangeType changeType) {
+    }
+
+    @Override
+    public void recordAll(List<Long> userIds, List<String> usernames, UserChangeType changeType) {
+    }
+
+    @Override
+    public void recordRoleMembers(Long roleId, UserChangeType changeType) {
+    }
+}
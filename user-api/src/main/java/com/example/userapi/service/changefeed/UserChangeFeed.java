@@ -0,0 +1,276 @@
+package com.example.userapi.service.changefeed;
+
+import com.example.userapi.config.UserChangeFeedProperties;
+import com.example.userapi.dto.response.UserChangeEventResponse;
+import com.example.userapi.enums.UserChangeType;
+import com.example.userapi.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 使用者變更 feed：每個節點輪詢 user_change_events，依序號推送給本節點的 SSE 訂閱者。
+// 序號只配置給寫入交易已結束的資料列（UserChangeSequencer），配置後不會再出現較小的序號，
+// 即時推送與追補讀到的內容一致。每個訂閱者有獨立的有界緩衝與 virtual thread，
+// 緩衝滿時不阻塞輪詢，而是讓該訂閱者改從資料表追補，記憶體用量與消費速度無關。
+@Service
+@ConditionalOnProperty(prefix = "user.change-feed", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class UserChangeFeed {
+
+    public static final String EVENT_CHANGE = "user-change";
+    // Last-Event-ID 早於保留期間：消費端需重新全量同步，之後從最舊的保留紀錄繼續
+    public static final String EVENT_RESET = "reset";
+
+    private static final Logger log = LoggerFactory.getLogger(UserChangeFeed.class);
+
+    private static final String SELECT_AFTER_SQL =
+            "SELECT sequence, user_id, username, change_type, created_at FROM user_change_events " +
+            "WHERE sequence > ? AND sequence <= ? ORDER BY sequence LIMIT ?";
+
+    private static final RowMapper<UserChangeEventResponse> ROW_MAPPER = (rs, rowNum) ->
+            new UserChangeEventResponse(
+                    rs.getLong("sequence"),
+                    rs.getLong("user_id"),
+                    rs.getString("username"),
+                    UserChangeType.valueOf(rs.getString("change_type")),
+                    rs.getTimestamp("created_at").toInstant());
+
+    // 不走 readOnly 交易，讀寫分離時仍從 primary 讀取，避免 replica 延遲造成序號缺口
+    private final JdbcTemplate jdbcTemplate;
+    private final UserChangeSequencer sequencer;
+    private final UserChangeFeedProperties properties;
+    private final ExecutorService senders;
+    // 輪詢不使用共用的 @Scheduled 執行緒，避免被可用性重建、replica 健康檢查等長時間工作延誤推送
+    private final ScheduledExecutorService poller;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter publishedCounter;
+    private final Counter overflowCounter;
+
+    // 已推送的最大序號；-1 表示尚未初始化
+    private volatile long position = -1;
+
+    public UserChangeFeed(JdbcTemplate jdbcTemplate, UserChangeSequencer sequencer,
+                          UserChangeFeedProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sequencer = sequencer;
+        this.properties = properties;
+        this.senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("user-change-feed-", 0).factory());
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-change-feed-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("user.changes.subscribers", subscribers, Set::size)
+                .description("Open change feed streams on this node")
+                .register(meterRegistry);
+        Gauge.builder("user.changes.position", this, feed -> Math.max(feed.position, 0))
+                .description("Highest change sequence delivered on this node")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("user.changes.published")
+                .register(meterRegistry);
+        this.overflowCounter = Counter.builder("user.changes.subscriber.overflows")
+                .description("Times a subscriber buffer filled up and the subscriber fell back to reading the log")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        poller.scheduleWithFixedDelay(this::poll, 0, properties.getPollIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    void poll() {
+        try {
+            if (position < 0) {
+                // 啟動時從目前最大序號開始，歷史事件由訂閱者以 Last-Event-ID 追補
+                position = sequencer.currentSequence();
+                return;
+            }
+            // 積壓時連續編號直到追上
+            int assigned;
+            do {
+                assigned = sequencer.assignSequences(properties.getBatchSize());
+            } while (assigned == properties.getBatchSize());
+            List<UserChangeEventResponse> events;
+            do {
+                events = jdbcTemplate.query(SELECT_AFTER_SQL, ROW_MAPPER,
+                        position, Long.MAX_VALUE, properties.getBatchSize());
+                deliver(events);
+            } while (events.size() == properties.getBatchSize());
+        } catch (RuntimeException e) {
+            // 例外會讓 scheduleWithFixedDelay 停止排程，記錄後等下一輪重試
+            log.warn("User change feed poll failed: {}", e.getMessage());
+        }
+    }
+
+    private void deliver(List<UserChangeEventResponse> events) {
+        for (UserChangeEventResponse event : events) {
+            // 先前進位置再放入緩衝：訂閱者追補時讀到的位置一定涵蓋不在其緩衝內的事件
+            position = event.getSequence();
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(event);
+            }
+            publishedCounter.increment();
+        }
+    }
+
+    // lastEventId 為 null 時只接收訂閱之後的事件
+    public SseEmitter subscribe(Long lastEventId) {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            throw new ServiceUnavailableException("Too many change feed subscribers", 5);
+        }
+        if (position < 0) {
+            throw new ServiceUnavailableException("Change feed is starting", 1);
+        }
+        SseEmitter emitter = new SseEmitter(properties.getStreamTimeoutMs());
+        Subscriber subscriber = new Subscriber(emitter, properties.getSubscriberBufferSize());
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        // 先註冊再讀取位置，註冊之後的事件不是在緩衝內就是在追補範圍內
+        subscribers.add(subscriber);
+        long after = lastEventId == null ? position : lastEventId;
+        senders.execute(() -> stream(subscriber, after));
+        return emitter;
+    }
+
+    private void stream(Subscriber subscriber, long after) {
+        try {
+            long lastSent = checkRetention(subscriber, after);
+            lastSent = catchUp(subscriber, lastSent);
+            while (!subscriber.closed) {
+                if (subscriber.overflowed) {
+                    overflowCounter.increment();
+                    subscriber.overflowed = false;
+                    subscriber.buffer.clear();
+                    lastSent = catchUp(subscriber, lastSent);
+                    continue;
+                }
+                UserChangeEventResponse event = subscriber.buffer.poll(
+                        properties.getHeartbeatIntervalMs(), TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    // 讓中間的 proxy 保持連線，也讓已斷線的用戶端盡早被偵測到
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else if (event.getSequence() > lastSent) {
+                    send(subscriber, event);
+                    lastSent = event.getSequence();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 用戶端已斷線或 emitter 已結束
+            subscriber.emitter.completeWithError(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            subscriber.emitter.complete();
+        } catch (DataAccessException e) {
+            log.warn("User change feed catch-up failed: {}", e.getMessage());
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.close();
+            subscribers.remove(subscriber);
+        }
+    }
+
+    private long checkRetention(Subscriber subscriber, long after) throws IOException {
+        Long oldest = jdbcTemplate.queryForObject("SELECT MIN(sequence) FROM user_change_events", Long.class);
+        if (oldest == null || after >= oldest - 1) {
+            return after;
+        }
+        subscriber.emitter.send(SseEmitter.event().name(EVENT_RESET).id(String.valueOf(oldest - 1)).data(oldest - 1));
+        return oldest - 1;
+    }
+
+    // 從資料表補送 (lastSent, position] 的事件；position 於開始時讀取，之後的事件會出現在緩衝內
+    private long catchUp(Subscriber subscriber, long lastSent) throws IOException {
+        long target = position;
+        while (lastSent < target && !subscriber.closed) {
+            List<UserChangeEventResponse> page = jdbcTemplate.query(SELECT_AFTER_SQL, ROW_MAPPER,
+                    lastSent, target, properties.getBatchSize());
+            if (page.isEmpty()) {
+                break;
+            }
+            for (UserChangeEventResponse event : page) {
+                send(subscriber, event);
+                lastSent = event.getSequence();
+            }
+        }
+        return Math.max(lastSent, target);
+    }
+
+    private static void send(Subscriber subscriber, UserChangeEventResponse event) throws IOException {
+        subscriber.emitter.send(SseEmitter.event()
+                .id(String.valueOf(event.getSequence()))
+                .name(EVENT_CHANGE)
+                .data(event));
+    }
+
+    @Scheduled(cron = "${user.change-feed.purge-cron:0 45 3 * * *}")
+    public void purgeExpired() {
+        if (properties.getRetentionDays() <= 0) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(properties.getRetentionDays(), ChronoUnit.DAYS);
+        // 保留最新一筆，序號在全部過期後仍從原處接續；尚未編號的資料列（sequence 為 null）不會被刪除
+        int deleted = jdbcTemplate.update("DELETE FROM user_change_events WHERE created_at < ? " +
+                "AND sequence < (SELECT MAX(sequence) FROM user_change_events)", Timestamp.from(cutoff));
+        if (deleted > 0) {
+            log.info("Purged {} user change events older than {}", deleted, cutoff);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+        subscribers.forEach(Subscriber::close);
+        senders.shutdownNow();
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<UserChangeEventResponse> buffer;
+        private volatile boolean overflowed;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private void offer(UserChangeEventResponse event) {
+            if (!buffer.offer(event)) {
+                overflowed = true;
+            }
+        }
+
+        private void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.userapi.service.changefeed;
+
+import com.example.userapi.enums.UserChangeType;
+
+import java.util.List;
+
+// 使用者異動的 outbox；user.change-feed.enabled=false 時為 NoOpUserChangeLog，不寫入也不啟動 feed
+public interface UserChangeLog {
+
+    void record(Long userId, String username, UserChangeType changeType);
+
+    // userIds 與 usernames 依索引對應，以一個批次陳述式寫入
+    void recordAll(List<Long> userIds, List<String> usernames, UserChangeType changeType);
+
+    // 角色成員全部記錄一筆；須在刪除 user_roles 之前呼叫
+    void recordRoleMembers(Long roleId, UserChangeType changeType);
+}
@@ -0,0 +1,74 @@
+package com.example.userapi.service.changefeed;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 為已結束交易寫入的 user_change_events 配置 feed 序號（sequence）。
+// id 在 INSERT 時配置、與 commit 順序無關；txid 早於目前快照 xmin 的交易一定已經結束，
+// 這些資料列不會再有新成員，編號後不會有較小的序號晚出現。
+// 編號交易以 advisory lock 串行化並依序 commit，序號連續且可見順序與編號順序一致。
+@Component
+@ConditionalOnProperty(prefix = "user.change-feed", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class UserChangeSequencer {
+
+    // 寫入端在 INSERT 時記錄所屬交易
+    public static final String CURRENT_TXID_SQL = "pg_current_xact_id()::text::bigint";
+
+    private static final long LOCK_KEY = 0x75736572_63686eL;
+
+    private static final String SELECT_FINISHED_SQL =
+            "SELECT id FROM user_change_events WHERE sequence IS NULL AND txid < ? ORDER BY txid, id LIMIT ?";
+    private static final String ASSIGN_SQL = "UPDATE user_change_events SET sequence = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserChangeSequencer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // 回傳本次編號的筆數；其他節點正在編號時回傳 0，由該節點完成
+    public int assignSequences(int limit) {
+        Integer assigned = transactionTemplate.execute(status -> {
+            if (!tryLock()) {
+                return 0;
+            }
+            long horizon = finishedTransactionHorizon();
+            List<Long> ids = jdbcTemplate.queryForList(SELECT_FINISHED_SQL, Long.class, horizon, limit);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            long next = currentSequence() + 1;
+            List<Object[]> args = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                args.add(new Object[]{next++, id});
+            }
+            jdbcTemplate.batchUpdate(ASSIGN_SQL, args);
+            return ids.size();
+        });
+        return assigned == null ? 0 : assigned;
+    }
+
+    public long currentSequence() {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(sequence) FROM user_change_events", Long.class);
+        return max == null ? 0 : max;
+    }
+
+    // 交易層級的 advisory lock，commit 時自動釋放
+    protected boolean tryLock() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, LOCK_KEY));
+    }
+
+    // 仍在進行中的最舊交易；小於此值的交易都已 commit 或 rollback
+    protected long finishedTransactionHorizon() {
+        Long xmin = jdbcTemplate.queryForObject("SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint", Long.class);
+        return xmin == null ? 0 : xmin;
+    }
+}
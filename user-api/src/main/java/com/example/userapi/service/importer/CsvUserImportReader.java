@@ -0,0 +1,103 @@
+package com.example.userapi.service.importer;
+
+import com.example.userapi.dto.request.CreateUserRequest;
+import com.example.userapi.exception.InvalidRequestException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// 第一列為欄位名稱（username,email,password,firstName,lastName,phone，大小寫與底線不拘）；
+// 支援以雙引號包住含逗號的欄位，不支援跨行欄位
+public class CsvUserImportReader implements UserImportReader {
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+
+    public CsvUserImportReader(InputStream inputStream) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            throw new InvalidRequestException("CSV import body is empty");
+        }
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        List<String> names = split(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(normalize(names.get(i)), i);
+        }
+        if (!columns.containsKey("username") || !columns.containsKey("email") || !columns.containsKey("password")) {
+            throw new InvalidRequestException("CSV header must contain username, email and password");
+        }
+    }
+
+    @Override
+    public CreateUserRequest next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        List<String> values = split(line);
+        CreateUserRequest request = new CreateUserRequest();
+        request.setUsername(value(values, "username"));
+        request.setEmail(value(values, "email"));
+        request.setPassword(value(values, "password"));
+        request.setFirstName(value(values, "firstname"));
+        request.setLastName(value(values, "lastname"));
+        request.setPhone(value(values, "phone"));
+        return request;
+    }
+
+    private String value(List<String> values, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String normalize(String name) {
+        return name.trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> split(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.userapi.service.importer;
+
+import com.example.userapi.dto.request.CreateUserRequest;
+import com.example.userapi.exception.InvalidRequestException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// 逐筆讀取 JSON 陣列，不會把整個 body 載入記憶體
+public class JsonUserImportReader implements UserImportReader {
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+
+    public JsonUserImportReader(ObjectMapper objectMapper, InputStream inputStream) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.getFactory().createParser(inputStream);
+        try {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidRequestException("Import body must be a JSON array of users");
+            }
+        } catch (JsonProcessingException e) {
+            throw new InvalidRequestException("Malformed JSON import body: " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public CreateUserRequest next() throws IOException {
+        try {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new InvalidRequestException("Expected a JSON object at " + parser.currentLocation());
+            }
+            return objectMapper.readValue(parser, CreateUserRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new InvalidRequestException("Malformed JSON import body: " + e.getOriginalMessage());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.userapi.service.importer;
+
+import com.example.userapi.dto.request.CreateUserRequest;
+
+import java.io.IOException;
+
+public interface UserImportReader {
+
+    // 回傳下一筆資料；讀到結尾時回傳 null
+    CreateUserRequest next() throws IOException;
+}
@@ -0,0 +1,70 @@
+package com.example.userapi.service.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// 建立使用者搜尋所需的 pg_trgm GIN 索引。索引為 partial（排除 DISABLED），條件需與 UserSearchService 的查詢一致。
+// 以 CREATE INDEX CONCURRENTLY 建立，不阻擋寫入；前次中斷留下的 invalid 索引會先刪除再重建。
+@Component
+@ConditionalOnProperty(prefix = "user.search", name = "manage-indexes", havingValue = "true", matchIfMissing = true)
+public class UserSearchIndexManager {
+
+    private static final Logger log = LoggerFactory.getLogger(UserSearchIndexManager.class);
+
+    static final String ACTIVE_PREDICATE = "status <> 'DISABLED'";
+
+    private static final List<SearchIndex> INDEXES = List.of(
+            new SearchIndex("idx_users_username_trgm", "lower(username)"),
+            new SearchIndex("idx_users_email_trgm", "lower(email)"),
+            new SearchIndex("idx_users_first_name_trgm", "lower(first_name)"),
+            new SearchIndex("idx_users_last_name_trgm", "lower(last_name)"),
+            new SearchIndex("idx_users_phone_trgm", "phone")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserSearchIndexManager(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // 在 Hibernate schema update 之後執行，確保 users 已存在；失敗時搜尋仍可用，只是退化為全表掃描
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        } catch (DataAccessException e) {
+            log.warn("Cannot create pg_trgm extension; user search will not be indexed: {}", e.getMessage());
+            return;
+        }
+        for (SearchIndex index : INDEXES) {
+            try {
+                dropIfInvalid(index.name());
+                jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + index.name()
+                        + " ON users USING gin (" + index.expression() + " gin_trgm_ops) WHERE " + ACTIVE_PREDICATE);
+            } catch (DataAccessException e) {
+                log.warn("Failed to create search index {}: {}", index.name(), e.getMessage());
+            }
+        }
+    }
+
+    private void dropIfInvalid(String name) {
+        Boolean valid = jdbcTemplate.query(
+                "SELECT i.indisvalid FROM pg_index i WHERE i.indexrelid = to_regclass(?)",
+                rs -> rs.next() ? rs.getBoolean(1) : null, name);
+        if (Boolean.FALSE.equals(valid)) {
+            log.info("Dropping invalid search index {} left by an interrupted build", name);
+            jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + name);
+        }
+    }
+
+    private record SearchIndex(String name, String expression) {
+    }
+}
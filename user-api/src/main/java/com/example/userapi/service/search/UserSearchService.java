@@ -0,0 +1,113 @@
+package com.example.userapi.service.search;
+
+import com.example.userapi.config.UserSearchProperties;
+import com.example.userapi.dto.response.RoleResponse;
+import com.example.userapi.dto.response.UserResponse;
+import com.example.userapi.enums.UserStatus;
+import com.example.userapi.exception.InvalidRequestException;
+import com.example.userapi.service.UserQueryService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// 使用者模糊搜尋：前綴比對（LIKE 'q%'）與 trigram 相似度（%）都走 UserSearchIndexManager 建立的 GIN 索引。
+// 排序分數 = 各欄位最高相似度，前綴命中 username/email 再加 1、完全相符再加 1；回傳 Slice，不做 count。
+@Service
+public class UserSearchService {
+
+    private static final String SEARCH_SQL =
+            "SELECT u.id, u.username, u.email, u.first_name, u.last_name, u.phone, u.status, " +
+            "u.last_login_at, u.last_login_ip, u.created_at, u.updated_at, " +
+            "GREATEST(similarity(lower(u.username), :q), similarity(lower(u.email), :q), " +
+            "similarity(lower(coalesce(u.first_name, '')), :q), similarity(lower(coalesce(u.last_name, '')), :q), " +
+            "similarity(coalesce(u.phone, ''), :q)) " +
+            "+ CASE WHEN lower(u.username) LIKE :prefix OR lower(u.email) LIKE :prefix THEN 1 ELSE 0 END " +
+            "+ CASE WHEN lower(u.username) = :q OR lower(u.email) = :q THEN 1 ELSE 0 END AS score " +
+            "FROM users u " +
+            "WHERE u." + UserSearchIndexManager.ACTIVE_PREDICATE + " AND (" +
+            "lower(u.username) LIKE :prefix OR lower(u.email) LIKE :prefix OR lower(u.first_name) LIKE :prefix " +
+            "OR lower(u.last_name) LIKE :prefix OR u.phone LIKE :prefix " +
+            "OR lower(u.username) % :q OR lower(u.email) % :q OR lower(u.first_name) % :q " +
+            "OR lower(u.last_name) % :q OR u.phone % :q) " +
+            "ORDER BY score DESC, u.id " +
+            "LIMIT :limit OFFSET :offset";
+
+    private static final RowMapper<UserResponse> ROW_MAPPER = (rs, rowNum) -> {
+        UserResponse user = new UserResponse();
+        user.setId(rs.getLong("id"));
+        user.setUsername(rs.getString("username"));
+        user.setEmail(rs.getString("email"));
+        user.setFirstName(rs.getString("first_name"));
+        user.setLastName(rs.getString("last_name"));
+        user.setPhone(rs.getString("phone"));
+        user.setStatus(UserStatus.valueOf(rs.getString("status")));
+        user.setLastLoginAt(toInstant(rs.getTimestamp("last_login_at")));
+        user.setLastLoginIp(rs.getString("last_login_ip"));
+        user.setCreatedAt(toInstant(rs.getTimestamp("created_at")));
+        user.setUpdatedAt(toInstant(rs.getTimestamp("updated_at")));
+        return user;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final UserQueryService userQueryService;
+    private final UserSearchProperties properties;
+
+    public UserSearchService(JdbcTemplate jdbcTemplate, UserQueryService userQueryService,
+                             UserSearchProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.userQueryService = userQueryService;
+        this.properties = properties;
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<UserResponse> search(String query, Integer page, Integer size) {
+        String q = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (q.length() < properties.getMinQueryLength()) {
+            throw new InvalidRequestException(
+                    "Search query must be at least " + properties.getMinQueryLength() + " characters");
+        }
+        int pageNumber = page == null ? 0 : Math.max(page, 0);
+        int pageSize = size == null ? properties.getDefaultSize() : Math.min(Math.max(size, 1), properties.getMaxSize());
+
+        // 只在目前交易內生效
+        jdbcTemplate.queryForObject("SELECT set_config('pg_trgm.similarity_threshold', ?, true)",
+                String.class, String.valueOf(properties.getSimilarityThreshold()));
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("q", q)
+                .addValue("prefix", escapeLike(q) + "%")
+                .addValue("limit", pageSize + 1)
+                .addValue("offset", (long) pageNumber * pageSize);
+        List<UserResponse> rows = namedJdbcTemplate.query(SEARCH_SQL, params, ROW_MAPPER);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<UserResponse> content = hasNext ? rows.subList(0, pageSize) : rows;
+        Map<Long, Set<RoleResponse>> roles = userQueryService.findRolesByUserIds(
+                content.stream().map(UserResponse::getId).toList());
+        content.forEach(user -> user.setRoles(roles.getOrDefault(user.getId(), Set.of())));
+        return new SliceImpl<>(content, PageRequest.of(pageNumber, pageSize), hasNext);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
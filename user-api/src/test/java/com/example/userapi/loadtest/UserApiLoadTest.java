@@ -0,0 +1,355 @@
+package com.example.userapi.loadtest;
+
+import com.example.userapi.entity.Role;
+import com.example.userapi.enums.AuditEventType;
+import com.example.userapi.repository.RoleRepository;
+import com.example.userapi.service.audit.AuditEvent;
+import com.example.userapi.service.audit.JdbcAuditWriter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 端對端負載測試：mvn -Ploadtest test。預設建置不會執行（*LoadTest 由 surefire 排除）。
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserApiLoadTest {
+
+    private static final String PASSWORD = "LoadTest#2024";
+    private static final int SEED_BATCH = 1000;
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    enum Operation {
+        LOGIN("login"),
+        LIST_USERS("list-users"),
+        GET_USER("get-user"),
+        UPDATE_USER("update-user"),
+        ASSIGN_ROLES("assign-roles"),
+        AUDIT_LOGS("audit-logs");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JdbcAuditWriter auditWriter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private int userCount;
+    private long firstUserId;
+    private List<Long> roleIds;
+
+    @BeforeAll
+    void seed() {
+        userCount = setting("users", 20000);
+        int roleCount = setting("roles", 5);
+        int auditLogsPerUser = setting("audit-logs-per-user", 5);
+
+        roleIds = new ArrayList<>();
+        for (int i = 0; i < roleCount; i++) {
+            Role role = new Role();
+            role.setName("LOADTEST_ROLE_" + i);
+            role.setDescription("Load test role " + i);
+            roleIds.add(roleRepository.save(role).getId());
+        }
+
+        // 所有使用者共用同一個雜湊，種子資料只需要一次 BCrypt
+        String hash = passwordEncoder.encode(PASSWORD);
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        for (int start = 0; start < userCount; start += SEED_BATCH) {
+            List<Integer> batch = new ArrayList<>();
+            for (int i = start; i < Math.min(start + SEED_BATCH, userCount); i++) {
+                batch.add(i);
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO users (username, email, password, first_name, last_name, " +
+                            "status, provider, credential_version, created_at, updated_at) " +
+                            "VALUES (?, ?, ?, ?, ?, 'ENABLED', 'LOCAL', 0, ?, ?)",
+                    batch, batch.size(), (ps, i) -> {
+                        ps.setString(1, username(i));
+                        ps.setString(2, username(i) + "@example.com");
+                        ps.setString(3, hash);
+                        ps.setString(4, "First" + i);
+                        ps.setString(5, "Last" + i);
+                        ps.setObject(6, now);
+                        ps.setObject(7, now);
+                    });
+        }
+        firstUserId = jdbcTemplate.queryForObject("SELECT min(id) FROM users", Long.class);
+
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+        for (int start = 0; start < userIds.size(); start += SEED_BATCH) {
+            List<Long> batch = userIds.subList(start, Math.min(start + SEED_BATCH, userIds.size()));
+            jdbcTemplate.batchUpdate("INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)",
+                    batch, batch.size(), (ps, userId) -> {
+                        ps.setLong(1, userId);
+                        ps.setLong(2, roleIds.get((int) (userId % roleIds.size())));
+                    });
+            List<AuditEvent> events = new ArrayList<>();
+            for (Long userId : batch) {
+                for (int i = 0; i < auditLogsPerUser; i++) {
+                    events.add(new AuditEvent(userId, AuditEventType.LOGIN, "127.0.0.1", "loadtest", "seed"));
+                }
+            }
+            auditWriter.write(events);
+        }
+    }
+
+    @Test
+    void workloadStaysWithinBudget() throws Exception {
+        int concurrency = setting("concurrency", 32);
+        long warmupSeconds = setting("warmup-seconds", 10);
+        long durationSeconds = setting("duration-seconds", 60);
+        Operation[] mix = buildMix();
+
+        runWorkload(concurrency, mix, warmupSeconds, null);
+        List<Map<Operation, Histogram>> perWorker = new ArrayList<>();
+        long[] errors = new long[1];
+        long elapsedNanos = runWorkload(concurrency, mix, durationSeconds, results -> {
+            perWorker.add(results.histograms);
+            errors[0] += results.errors;
+        });
+
+        Map<Operation, Histogram> merged = new EnumMap<>(Operation.class);
+        for (Map<Operation, Histogram> histograms : perWorker) {
+            histograms.forEach((operation, histogram) -> merged
+                    .computeIfAbsent(operation, o -> new Histogram(HIGHEST_TRACKABLE_NANOS, 3))
+                    .add(histogram));
+        }
+
+        List<String> violations = report(merged, errors[0], elapsedNanos);
+        assertThat(violations).as("Load test budget violations").isEmpty();
+    }
+
+    private long runWorkload(int concurrency, Operation[] mix, long seconds,
+                             Consumer<WorkerResults> sink) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        try {
+            List<Future<WorkerResults>> futures = new ArrayList<>();
+            for (int w = 0; w < concurrency; w++) {
+                int worker = w;
+                futures.add(workers.submit(() -> runWorker(worker, mix, deadline)));
+            }
+            for (Future<WorkerResults> future : futures) {
+                WorkerResults results = future.get();
+                if (sink != null) {
+                    sink.accept(results);
+                }
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private WorkerResults runWorker(int worker, Operation[] mix, long deadline) throws Exception {
+        WorkerResults results = new WorkerResults();
+        String username = username(worker % userCount);
+        String token = login(username);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        while (System.nanoTime() < deadline) {
+            Operation operation = mix[random.nextInt(mix.length)];
+            long userId = firstUserId + random.nextInt(userCount);
+            HttpRequest request = switch (operation) {
+                case LOGIN -> loginRequest(username);
+                case LIST_USERS -> authorized(token, "/api/v1/users?page=" + random.nextInt(50) + "&size=20").GET().build();
+                case GET_USER -> authorized(token, "/api/v1/users/" + userId).GET().build();
+                case UPDATE_USER -> authorized(token, "/api/v1/users/" + userId)
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(
+                                "{\"firstName\":\"Updated" + random.nextInt(1000) + "\"}"))
+                        .build();
+                case ASSIGN_ROLES -> authorized(token, "/api/v1/users/" + userId + "/roles")
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(
+                                "[" + roleIds.get(random.nextInt(roleIds.size())) + "]"))
+                        .build();
+                case AUDIT_LOGS -> authorized(token, "/api/v1/users/" + userId + "/audit-logs?after=&size=20")
+                        .GET().build();
+            };
+
+            long started = System.nanoTime();
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            long latency = System.nanoTime() - started;
+
+            if (response.statusCode() >= 400) {
+                results.errors++;
+                continue;
+            }
+            results.histograms.computeIfAbsent(operation, o -> new Histogram(HIGHEST_TRACKABLE_NANOS, 3))
+                    .recordValue(Math.min(latency, HIGHEST_TRACKABLE_NANOS));
+            if (operation == Operation.LOGIN) {
+                token = objectMapper.readTree(response.body()).path("token").asText();
+            }
+        }
+        return results;
+    }
+
+    private String login(String username) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(loginRequest(username), HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(response.statusCode()).as("login for %s", username).isEqualTo(200);
+        JsonNode body = objectMapper.readTree(response.body());
+        return body.path("token").asText();
+    }
+
+    private HttpRequest loginRequest(String username) {
+        return HttpRequest.newBuilder(uri("/api/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(String token, String path) {
+        return HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + token);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private Operation[] buildMix() {
+        List<Operation> mix = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            int weight = setting("mix." + operation.key, 0);
+            for (int i = 0; i < weight; i++) {
+                mix.add(operation);
+            }
+        }
+        assertThat(mix).as("loadtest.mix must contain at least one operation").isNotEmpty();
+        return mix.toArray(Operation[]::new);
+    }
+
+    private List<String> report(Map<Operation, Histogram> histograms, long errors, long elapsedNanos)
+            throws IOException {
+        Path directory = Path.of("target", "loadtest");
+        Files.createDirectories(directory);
+
+        double seconds = elapsedNanos / 1e9;
+        long total = histograms.values().stream().mapToLong(Histogram::getTotalCount).sum();
+        double throughput = total / seconds;
+        double errorRate = total + errors == 0 ? 0 : (double) errors / (total + errors);
+
+        List<String> violations = new ArrayList<>();
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("%-14s %9s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "ops/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            if (histogram == null) {
+                continue;
+            }
+            double p99 = millis(histogram.getValueAtPercentile(99));
+            summary.append(String.format("%-14s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    operation.key, histogram.getTotalCount(), histogram.getTotalCount() / seconds,
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                    p99, millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue())));
+
+            try (PrintStream out = new PrintStream(
+                    Files.newOutputStream(directory.resolve(operation.key + ".hgrm")))) {
+                // 以毫秒為單位輸出完整百分位分布，可用 HdrHistogram plotter 比較
+                histogram.outputPercentileDistribution(out, 1_000_000.0);
+            }
+
+            Double budget = environment.getProperty("loadtest.budgets.p99-ms." + operation.key, Double.class);
+            if (budget != null && p99 > budget) {
+                violations.add(String.format("%s p99 %.2f ms exceeds budget %.2f ms", operation.key, p99, budget));
+            }
+        }
+        summary.append(String.format("total %d requests in %.1f s, %.1f ops/s, %d errors (%.4f%%)%n",
+                total, seconds, throughput, errors, errorRate * 100));
+
+        double minThroughput = environment.getProperty("loadtest.budgets.min-throughput", Double.class, 0.0);
+        if (throughput < minThroughput) {
+            violations.add(String.format("throughput %.1f ops/s is below budget %.1f ops/s", throughput, minThroughput));
+        }
+        double maxErrorRate = environment.getProperty("loadtest.budgets.max-error-rate", Double.class, 0.0);
+        if (errorRate > maxErrorRate) {
+            violations.add(String.format("error rate %.4f exceeds budget %.4f", errorRate, maxErrorRate));
+        }
+        violations.forEach(violation -> summary.append("BUDGET VIOLATION: ").append(violation).append('\n'));
+
+        Files.writeString(directory.resolve("summary.txt"), summary);
+        System.out.println(summary);
+        return violations;
+    }
+
+    private int setting(String key, int defaultValue) {
+        return environment.getProperty("loadtest." + key, Integer.class, defaultValue);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static String username(int i) {
+        return "loadtest-user-" + i;
+    }
+
+    private static class WorkerResults {
+
+        private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        private long errors;
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.userapi.security;
+
+import com.example.userapi.config.LoginThrottleProperties;
+import com.example.userapi.exception.LoginThrottledException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginAttemptThrottleTest {
+
+    private static final String USER = "alice";
+    private static final String IP = "10.0.0.1";
+
+    private ManualClockThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        LoginThrottleProperties properties = new LoginThrottleProperties();
+        properties.setWindowMs(60_000);
+        properties.setMaxFailuresPerUsername(3);
+        properties.setMaxFailuresPerIp(100);
+        properties.setBaseBackoffMs(1_000);
+        properties.setMaxBackoffMs(4_000);
+        properties.setLockAfterBlocks(3);
+        properties.setLockMinSpreadMs(0);
+        properties.setStripes(4);
+        properties.setMaxKeysPerStripe(16);
+        throttle = new ManualClockThrottle(properties);
+    }
+
+    @Test
+    void blocksOnceFailuresReachThresholdWithinWindow() {
+        fail(2);
+        assertAllowed();
+
+        fail(1);
+        assertBlockedFor(1);
+    }
+
+    @Test
+    void failuresOutsideWindowAreNotCounted() {
+        fail(2);
+        throttle.now += 60_001;
+        fail(1);
+
+        assertAllowed();
+    }
+
+    @Test
+    void backoffDoublesOnEachBlockUpToMax() {
+        fail(3);
+        assertBlockedFor(1);
+        throttle.now += 1_000;
+        assertAllowed();
+
+        fail(3);
+        assertBlockedFor(2);
+        throttle.now += 1_000;
+        assertBlockedFor(1);
+        throttle.now += 1_000;
+
+        fail(3);
+        assertBlockedFor(4);
+        throttle.now += 4_000;
+
+        fail(3);
+        assertBlockedFor(4);
+    }
+
+    @Test
+    void lockIsTriggeredExactlyOnceAfterConfiguredBlocks() {
+        assertThat(blockOnce()).isFalse();
+        assertThat(blockOnce()).isFalse();
+        assertThat(blockOnce()).isTrue();
+        assertThat(blockOnce()).isFalse();
+    }
+
+    @Test
+    void lockWaitsUntilBlocksSpanMinimumSpread() {
+        throttle.properties.setLockMinSpreadMs(30_000);
+
+        assertThat(blockOnce()).isFalse();
+        assertThat(blockOnce()).isFalse();
+        assertThat(blockOnce()).isFalse();
+        throttle.now += 20_000;
+        assertThat(blockOnce()).isTrue();
+        assertThat(blockOnce()).isFalse();
+    }
+
+    @Test
+    void blockAsLongAsWindowDoesNotResetBlockCount() {
+        throttle.properties.setMaxBackoffMs(60_000);
+        throttle.properties.setBaseBackoffMs(60_000);
+        fail(3);
+        throttle.now += 60_001;
+        fail(3);
+        throttle.now += 60_001;
+
+        fail(2);
+        assertThat(throttle.recordFailure(USER, IP)).isTrue();
+    }
+
+    @Test
+    void blockCountResetsAfterQuietWindow() {
+        blockOnce();
+        blockOnce();
+        throttle.now += 60_001;
+
+        assertThat(blockOnce()).isFalse();
+        assertThat(blockOnce()).isFalse();
+        assertThat(blockOnce()).isTrue();
+    }
+
+    @Test
+    void resetClearsBlockAndBlockCount() {
+        blockOnce();
+        fail(3);
+        assertBlockedFor(2);
+
+        throttle.reset(USER);
+
+        assertAllowed();
+        assertThat(blockOnce()).isFalse();
+        assertThat(blockOnce()).isFalse();
+        assertThat(blockOnce()).isTrue();
+    }
+
+    @Test
+    void ipBlockAppliesToEveryUsername() {
+        for (int i = 0; i < 100; i++) {
+            throttle.recordFailure("user" + i, IP);
+        }
+
+        assertThatThrownBy(() -> throttle.checkAllowed("bob", IP)).isInstanceOf(LoginThrottledException.class);
+        assertThatCode(() -> throttle.checkAllowed("bob", "10.0.0.2")).doesNotThrowAnyException();
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            throttle.recordFailure(USER, IP);
+        }
+    }
+
+    // 觸發一次封鎖並等到封鎖結束，回傳觸發封鎖的那次失敗是否要求鎖定帳號
+    private boolean blockOnce() {
+        fail(2);
+        boolean lock = throttle.recordFailure(USER, IP);
+        throttle.now += 4_000;
+        return lock;
+    }
+
+    private void assertAllowed() {
+        assertThatCode(() -> throttle.checkAllowed(USER, IP)).doesNotThrowAnyException();
+    }
+
+    private void assertBlockedFor(long seconds) {
+        assertThatThrownBy(() -> throttle.checkAllowed(USER, IP))
+                .isInstanceOfSatisfying(LoginThrottledException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(seconds));
+    }
+
+    private static final class ManualClockThrottle extends LoginAttemptThrottle {
+
+        private final LoginThrottleProperties properties;
+        private long now = 1_000_000;
+
+        private ManualClockThrottle(LoginThrottleProperties properties) {
+            super(properties, new SimpleMeterRegistry());
+            this.properties = properties;
+        }
+
+        @Override
+        protected long currentTimeMillis() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.userapi.service;
+
+import com.example.userapi.config.JpaAuditingConfig;
+import com.example.userapi.dto.response.RoleMemberResponse;
+import com.example.userapi.dto.response.RoleResponse;
+import com.example.userapi.service.changefeed.JdbcUserChangeLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@Import({RoleService.class, JdbcUserChangeLog.class, JpaAuditingConfig.class})
+class RoleServiceTest extends UserFixtureJpaTest {
+
+    @Autowired
+    private RoleService roleService;
+
+    @BeforeEach
+    void setUp() {
+        // 沒有成員的角色
+        persistRole("AUDITOR");
+        resetStatistics();
+    }
+
+    @Test
+    void getAllRolesIssuesTwoStatementsAndAggregatesMemberCounts() {
+        List<RoleResponse> roles = roleService.getAllRoles();
+
+        // roles + group by count
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(roles.size());
+        assertThat(roles).extracting(RoleResponse::getName, RoleResponse::getMemberCount)
+                .containsExactly(
+                        tuple("ADMIN", (long) ADMIN_COUNT),
+                        tuple("USER", (long) USER_COUNT),
+                        tuple("AUDITOR", 0L));
+    }
+
+    @Test
+    void getRoleMembersPagesByUserId() {
+        Page<RoleMemberResponse> first = roleService.getRoleMembers(admin.getId(), PageRequest.of(0, 4));
+        Page<RoleMemberResponse> last = roleService.getRoleMembers(admin.getId(), PageRequest.of(2, 4));
+
+        assertThat(first.getTotalElements()).isEqualTo(ADMIN_COUNT);
+        assertThat(first.getContent()).extracting(RoleMemberResponse::getUsername)
+                .containsExactly("user0", "user3", "user6", "user9");
+        assertThat(last.getContent()).hasSize(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.userapi.service;
+
+import com.example.userapi.entity.Role;
+import com.example.userapi.entity.User;
+import com.example.userapi.entity.UserRole;
+import com.example.userapi.enums.UserStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+// 以 Hibernate statistics 驗證陳述式數量的共用 fixture：USER_COUNT 位使用者都屬於 USER，每第三位另屬於 ADMIN
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+abstract class UserFixtureJpaTest {
+
+    protected static final int USER_COUNT = 30;
+    protected static final int ADMIN_COUNT = 10;
+
+    @Autowired
+    protected TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    protected Statistics statistics;
+    protected Role admin;
+    protected Role member;
+
+    @BeforeEach
+    void setUpUsers() {
+        admin = persistRole("ADMIN");
+        member = persistRole("USER");
+        for (int i = 0; i < USER_COUNT; i++) {
+            User user = new User();
+            user.setUsername("user" + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setPassword("hash");
+            user.setStatus(UserStatus.ENABLED);
+            entityManager.persist(user);
+            persistUserRole(user, member);
+            if (i % 3 == 0) {
+                persistUserRole(user, admin);
+            }
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        resetStatistics();
+    }
+
+    // 寫入 fixture 之後呼叫：清空持久化內容，之後的查詢都會實際存取資料庫並從 0 開始計數
+    protected void resetStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    protected Role persistRole(String name) {
+        Role role = new Role();
+        role.setName(name);
+        return entityManager.persist(role);
+    }
+
+    private void persistUserRole(User user, Role role) {
+        UserRole userRole = new UserRole();
+        userRole.setUser(user);
+        userRole.setRole(role);
+        entityManager.persist(userRole);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.userapi.service;
+
+import com.example.userapi.config.JpaAuditingConfig;
+import com.example.userapi.dto.response.BatchUserLookupResponse;
+import com.example.userapi.dto.response.UserResponse;
+import com.example.userapi.enums.UserLookupStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import({UserQueryService.class, JpaAuditingConfig.class})
+class UserQueryServiceTest extends UserFixtureJpaTest {
+
+    @Autowired
+    private UserQueryService userQueryService;
+
+    @Test
+    void getAllUsersIssuesFixedNumberOfStatementsRegardlessOfPageSize() {
+        long smallPage = statementsFor(5);
+        long largePage = statementsFor(20);
+
+        // page + count + roles
+        assertThat(smallPage).isEqualTo(3);
+        assertThat(largePage).isEqualTo(smallPage);
+    }
+
+    @Test
+    void getAllUsersMapsRoleNames() {
+        Page<UserResponse> page = userQueryService.getAllUsers(PageRequest.of(0, 3));
+
+        assertThat(page.getTotalElements()).isEqualTo(USER_COUNT);
+        assertThat(page.getContent()).allSatisfy(user -> assertThat(user.getRoles()).isNotEmpty());
+    }
+
+    @Test
+    void getUserByIdIssuesTwoStatements() {
+        Long id = userQueryService.getAllUsers(PageRequest.of(0, 1)).getContent().get(0).getId();
+        statistics.clear();
+
+        userQueryService.getUserById(id);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void lookupUsersIssuesTwoStatementsAndKeysResultsByInput() {
+        Long id = userQueryService.getAllUsers(PageRequest.of(0, 1)).getContent().get(0).getId();
+        statistics.clear();
+
+        BatchUserLookupResponse response = userQueryService.lookupUsers(
+                List.of(id, -1L), List.of("user1", "user2", "missing"));
+
+        // users (ids + usernames) + roles
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(response.getIds()).containsOnlyKeys(id, -1L);
+        assertThat(response.getIds().get(id).getStatus()).isEqualTo(UserLookupStatus.FOUND);
+        assertThat(response.getIds().get(-1L).getStatus()).isEqualTo(UserLookupStatus.NOT_FOUND);
+        assertThat(response.getUsernames()).containsOnlyKeys("user1", "user2", "missing");
+        assertThat(response.getUsernames().get("user1").getUser().getRoles()).isNotEmpty();
+        assertThat(response.getUsernames().get("missing").getStatus()).isEqualTo(UserLookupStatus.NOT_FOUND);
+    }
+
+    private long statementsFor(int pageSize) {
+        statistics.clear();
+        Page<UserResponse> page = userQueryService.getAllUsers(PageRequest.of(0, pageSize));
+        assertThat(page.getContent()).hasSize(pageSize);
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.userapi.service.changefeed;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// H2 沒有交易快照函式，以可設定的 horizon 模擬「哪些寫入交易已結束」
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class UserChangeSequencerTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private FixedHorizonSequencer sequencer;
+
+    @BeforeEach
+    void setUp() {
+        sequencer = new FixedHorizonSequencer(jdbcTemplate, transactionManager);
+    }
+
+    @Test
+    void rowsOfUnfinishedTransactionsAreNotNumbered() {
+        insert(1, 100);
+        insert(2, 101);
+        sequencer.horizon = 101;
+
+        assertThat(sequencer.assignSequences(10)).isEqualTo(1);
+        assertThat(sequenceOf(1)).isEqualTo(1L);
+        assertThat(sequenceOf(2)).isNull();
+    }
+
+    @Test
+    void lateCommitWithLowerIdIsNumberedAfterEarlierCommitsInsteadOfSkipped() {
+        // 交易 101 先取得 id 1 但較晚 commit；交易 102 的 id 2 先 commit
+        insert(2, 102);
+        // 交易 101 仍在進行，102 已結束但 xmin 停在 101：兩者都不編號
+        sequencer.horizon = 101;
+        assertThat(sequencer.assignSequences(10)).isZero();
+
+        insert(1, 101);
+        sequencer.horizon = 103;
+        assertThat(sequencer.assignSequences(10)).isEqualTo(2);
+
+        assertThat(sequenceOf(1)).isEqualTo(1L);
+        assertThat(sequenceOf(2)).isEqualTo(2L);
+    }
+
+    @Test
+    void rowVisibleAfterOthersWereNumberedStillGetsAHigherSequence() {
+        // 交易 100 持有 id 1、交易 99 較晚才寫入 id 2；99 先結束並被編號
+        insert(2, 99);
+        sequencer.horizon = 100;
+        assertThat(sequencer.assignSequences(10)).isEqualTo(1);
+
+        insert(1, 100);
+        sequencer.horizon = 101;
+        assertThat(sequencer.assignSequences(10)).isEqualTo(1);
+
+        // id 較小但較晚 commit 的資料列排在後面，已推送的位置之後不會再出現較小的序號
+        assertThat(sequenceOf(2)).isEqualTo(1L);
+        assertThat(sequenceOf(1)).isEqualTo(2L);
+        assertThat(sequencer.currentSequence()).isEqualTo(2L);
+    }
+
+    @Test
+    void sequencesAreContiguousAcrossBatches() {
+        for (int i = 1; i <= 5; i++) {
+            insert(i, 100 + i);
+        }
+        sequencer.horizon = 200;
+
+        assertThat(sequencer.assignSequences(2)).isEqualTo(2);
+        assertThat(sequencer.assignSequences(2)).isEqualTo(2);
+        assertThat(sequencer.assignSequences(2)).isEqualTo(1);
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT id, sequence FROM user_change_events ORDER BY sequence");
+        assertThat(rows).extracting(row -> ((Number) row.get("sequence")).longValue())
+                .containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    private void insert(long id, long txid) {
+        jdbcTemplate.update("INSERT INTO user_change_events (id, user_id, username, change_type, created_at, txid) " +
+                "VALUES (?, ?, ?, 'UPDATED', ?, ?)", id, id, "user" + id, Timestamp.from(Instant.now()), txid);
+    }
+
+    private Long sequenceOf(long id) {
+        return jdbcTemplate.queryForObject("SELECT sequence FROM user_change_events WHERE id = ?", Long.class, id);
+    }
+
+    private static class FixedHorizonSequencer extends UserChangeSequencer {
+
+        private long horizon;
+
+        FixedHorizonSequencer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+            super(jdbcTemplate, transactionManager);
+        }
+
+        @Override
+        protected boolean tryLock() {
+            return true;
+        }
+
+        @Override
+        protected long finishedTransactionHorizon() {
+            return horizon;
+        }
+    }
+}